@@ -0,0 +1,83 @@
+package puzzles.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzles.common.solver.Configuration;
+
+import java.io.FileNotFoundException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the configuration methods a search calls for every configuration,
+ * getNeighbors(), hashCode() and equals(), on one board of each kind.
+ *
+ * @author Patricio Solis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+    /** the puzzle the configuration is the start of, named as Puzzles.load() takes it */
+    @Param({"hoppers-8", "slide-3", "slide-5", "strings MARCH APRIL", "crossing 95 73"})
+    private String puzzle;
+
+    /** the configuration measured */
+    private Configuration config;
+    /** an equal configuration loaded separately, so equals() compares two different objects */
+    private Configuration copy;
+
+    /**
+     * Loads the puzzle twice
+     *
+     * @throws FileNotFoundException if the puzzle file is missing
+     */
+    @Setup
+    public void setup() throws FileNotFoundException {
+        config = Puzzles.load(puzzle);
+        copy = Puzzles.load(puzzle);
+    }
+
+    /**
+     * Makes the neighbors of the configuration
+     *
+     * @return Collection<Configuration> the neighbors, returned so they can't be optimized away
+     */
+    @Benchmark
+    public Collection<Configuration> neighbors(){
+        return config.getNeighbors();
+    }
+
+    /**
+     * Hashes the configuration
+     *
+     * @return int the hash, returned so it can't be optimized away
+     */
+    @Benchmark
+    public int hash(){
+        return config.hashCode();
+    }
+
+    /**
+     * Compares the configuration to an equal one
+     *
+     * @return boolean the comparison, returned so it can't be optimized away
+     */
+    @Benchmark
+    public boolean equality(){
+        return config.equals(copy);
+    }
+}
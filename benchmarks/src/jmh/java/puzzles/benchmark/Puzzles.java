@@ -0,0 +1,54 @@
+package puzzles.benchmark;
+
+import puzzles.common.solver.Configuration;
+import puzzles.crossing.CrossingConfig;
+import puzzles.hoppers.model.HoppersConfig;
+import puzzles.slide.model.SlideConfig;
+import puzzles.strings.StringsConfig;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+/**
+ * Makes the initial configuration of a puzzle from the name a benchmark
+ * parameter gives it. A hoppers or slide name is a file in data/hoppers or
+ * data/slide without its .txt, and a strings or crossing name is the word
+ * strings or crossing followed by the program's two arguments. The data
+ * directory is taken from the puzzles.data system property, which the
+ * Gradle build sets, so forks find the files from any working directory.
+ *
+ * @author Patricio Solis
+ */
+final class Puzzles {
+
+    /** the system property holding the data directory */
+    private static final String DATA_PROPERTY = "puzzles.data";
+
+    /**
+     * Puzzles is never made, it only loads puzzles
+     */
+    private Puzzles(){}
+
+    /**
+     * Makes the initial configuration of a puzzle
+     *
+     * @param name the name of the puzzle, like hoppers-8, slide-3 or strings MARCH APRIL
+     * @return Configuration the initial configuration of the puzzle
+     * @throws FileNotFoundException if the puzzle file is missing
+     * @throws IllegalArgumentException if the name isn't of a known puzzle
+     */
+    static Configuration load(String name) throws FileNotFoundException {
+        File data = new File(System.getProperty(DATA_PROPERTY, "data"));
+        String[] words = name.split(" ");
+        if(name.startsWith("hoppers-")){
+            return new HoppersConfig(new File(data, "hoppers/" + name + ".txt").getPath());
+        } else if(name.startsWith("slide-")){
+            return new SlideConfig(new File(data, "slide/" + name + ".txt").getPath());
+        } else if(words[0].equals("strings") && words.length == 3){
+            return new StringsConfig(words[1], words[2]);
+        } else if(words[0].equals("crossing") && words.length == 3){
+            return new CrossingConfig(Integer.parseInt(words[1]), Integer.parseInt(words[2]));
+        }
+        throw new IllegalArgumentException("Unknown puzzle: " + name);
+    }
+}
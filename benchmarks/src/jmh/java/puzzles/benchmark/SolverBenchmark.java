@@ -0,0 +1,72 @@
+package puzzles.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.Solver;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves every puzzle end to end with BFS. The puzzles are every file in
+ * data/hoppers and data/slide and every Strings and Crossing argument set
+ * in the IntelliJ run configurations; a new one is benchmarked by adding
+ * it to the list or passing -p puzzle=NAME.
+ *
+ * @author Patricio Solis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    /** the puzzle solved, named as Puzzles.load() takes it */
+    @Param({"hoppers-0", "hoppers-1", "hoppers-2", "hoppers-3", "hoppers-4", "hoppers-5", "hoppers-6",
+            "hoppers-7", "hoppers-8", "hoppers-9",
+            "slide-0", "slide-1", "slide-2", "slide-3", "slide-4", "slide-5", "slide-6", "slide-7",
+            "strings ABC BZD", "strings AB XD", "strings B Y", "strings B !", "strings CAT DOG",
+            "strings MARCH APRIL", "strings P U",
+            "crossing 0 1", "crossing 1 4", "crossing 2 0", "crossing 2 1", "crossing 3 2", "crossing 8 5",
+            "crossing 95 73"})
+    private String puzzle;
+
+    /** the initial configuration of the puzzle */
+    private Configuration start;
+    /** the solver, it keeps nothing between solves */
+    private Solver solver;
+
+    /**
+     * Loads the puzzle once for every solve of it
+     *
+     * @throws FileNotFoundException if the puzzle file is missing
+     */
+    @Setup
+    public void setup() throws FileNotFoundException {
+        start = Puzzles.load(puzzle);
+        solver = new Solver(false);
+    }
+
+    /**
+     * Solves the puzzle with BFS
+     *
+     * @return SolveResult the result, returned so the solve can't be optimized away
+     */
+    @Benchmark
+    public SolveResult solve(){
+        return solver.solve(start);
+    }
+}
@@ -0,0 +1,65 @@
+package puzzles.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.Solver;
+import puzzles.common.solver.SymmetricConfiguration;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solves every hoppers puzzle end to end with BFS over its symmetry
+ * classes, the puzzles whose configurations are SymmetricConfigurations.
+ *
+ * @author Patricio Solis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymmetricSolverBenchmark {
+
+    /** the puzzle solved, named as Puzzles.load() takes it */
+    @Param({"hoppers-0", "hoppers-1", "hoppers-2", "hoppers-3", "hoppers-4", "hoppers-5", "hoppers-6",
+            "hoppers-7", "hoppers-8", "hoppers-9"})
+    private String puzzle;
+
+    /** the initial configuration of the puzzle */
+    private SymmetricConfiguration start;
+    /** the solver, it keeps nothing between solves */
+    private Solver solver;
+
+    /**
+     * Loads the puzzle once for every solve of it
+     *
+     * @throws FileNotFoundException if the puzzle file is missing
+     */
+    @Setup
+    public void setup() throws FileNotFoundException {
+        start = (SymmetricConfiguration) Puzzles.load(puzzle);
+        solver = new Solver(false);
+    }
+
+    /**
+     * Solves the puzzle with BFS over symmetry classes
+     *
+     * @return SolveResult the result, returned so the solve can't be optimized away
+     */
+    @Benchmark
+    public SolveResult solveSymmetric(){
+        return solver.solveSymmetric(start);
+    }
+}
@@ -0,0 +1,228 @@
+package puzzles.batch;
+
+import puzzles.common.solver.SolveResult;
+import puzzles.hoppers.solver.Hoppers;
+import puzzles.slide.solver.Slide;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves many Hoppers or Slide puzzle files in one process, so the JVM only
+ * starts and warms up once. Files are solved at the same time on a pool of
+ * threads and each solution is written to its own -out.txt file exactly as
+ * the puzzle's main program prints it. A table of the steps, node counts
+ * and time of every puzzle is printed once they are all done.
+ *
+ * @author Patricio Solis
+ */
+public class Batch {
+
+    /** the option followed by the number of threads */
+    private static final String THREADS_OPTION = "-threads";
+    /** the option followed by the directory the solutions are written to */
+    private static final String OUT_OPTION = "-out";
+    /** the ending of a puzzle file */
+    private static final String PUZZLE_SUFFIX = ".txt";
+    /** the ending of a solution file, replacing the puzzle's */
+    private static final String OUT_SUFFIX = "-out.txt";
+    /** the size of the buffer each solution is written through */
+    private static final int BUFFER_BYTES = 1 << 16;
+    /** how the program is run, printed when the arguments don't fit it */
+    private static final String USAGE = "Usage: java Batch hoppers|slide files|directories|globs... ["
+            + THREADS_OPTION + " N] [" + OUT_OPTION + " directory]";
+    /** the header printed above the table of puzzles */
+    private static final String HEADER = String.format("%-40s %8s %12s %12s %10s",
+            "Puzzle", "Steps", "Total", "Unique", "ms");
+
+    /**
+     * The main program.
+     *
+     * @param args the kind of puzzle, hoppers or slide, then the puzzle files,
+     *             directories of them or globs like data/hoppers/*.txt, with
+     *             optional -threads N and -out DIR anywhere after the kind,
+     *             the usage is printed if an option has no value or N isn't
+     *             a positive number
+     * @throws IOException if a directory can't be listed
+     * @throws InterruptedException if interrupted while waiting for the solves
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if(args.length < 2 || !(args[0].equals("hoppers") || args[0].equals("slide"))){
+            System.out.println(USAGE);
+            return;
+        }
+        String kind = args[0];
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path outDirectory = Path.of("output", kind);
+        List<Path> files = new ArrayList<>();
+        for(int i = 1; i < args.length; i++){
+            if((args[i].equals(THREADS_OPTION) || args[i].equals(OUT_OPTION)) && i + 1 == args.length){
+                System.out.println(USAGE); // the option's value is missing
+                return;
+            } else if(args[i].equals(THREADS_OPTION)){
+                threads = parseThreads(args[++i]);
+                if(threads < 1){
+                    System.out.println(USAGE);
+                    return;
+                }
+            } else if(args[i].equals(OUT_OPTION)){
+                outDirectory = Path.of(args[++i]);
+            } else {
+                files.addAll(expand(args[i]));
+            }
+        }
+        Files.createDirectories(outDirectory);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Row>> rows = new ArrayList<>();
+        for(Path file : files){
+            Path out = outDirectory.resolve(outName(file));
+            rows.add(pool.submit(() -> solve(kind, file, out)));
+        }
+        pool.shutdown();
+
+        // rows are printed in the order the files were given, not the order they finished
+        System.out.println(HEADER);
+        for(int i = 0; i < rows.size(); i++){
+            try {
+                System.out.println(rows.get(i).get());
+            } catch(ExecutionException e){
+                System.out.println(String.format("%-40s failed: %s", files.get(i), e.getCause()));
+            }
+        }
+    }
+
+    /**
+     * Reads the number of threads given after -threads
+     *
+     * @param value the argument after -threads
+     * @return int the number of threads, 0 if the argument isn't a number
+     */
+    private static int parseThreads(String value){
+        try {
+            return Integer.parseInt(value);
+        } catch(NumberFormatException e){
+            return 0;
+        }
+    }
+
+    /**
+     * Solves one puzzle file and writes its solution
+     *
+     * @param kind the kind of puzzle, hoppers or slide
+     * @param file the puzzle file
+     * @param out the file the solution is written to
+     * @return Row the puzzle's line of the table
+     * @throws IOException if the puzzle can't be read or the solution can't be written
+     */
+    private static Row solve(String kind, Path file, Path out) throws IOException {
+        long start = System.nanoTime();
+        SolveResult result;
+        try(PrintStream stream = new PrintStream(new BufferedOutputStream(Files.newOutputStream(out), BUFFER_BYTES))){
+            if(kind.equals("hoppers")){
+                result = Hoppers.solve(file.toString(), stream);
+            } else {
+                result = Slide.solve(file.toString(), null, stream);
+            }
+        }
+        return new Row(file.toString(), result, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Turns an argument into the puzzle files it names
+     *
+     * @param argument a puzzle file, a directory of them or a glob in its last part
+     * @return List<Path> the files, sorted by name for a directory or glob
+     * @throws IOException if the directory can't be listed
+     */
+    private static List<Path> expand(String argument) throws IOException {
+        Path path = Path.of(argument);
+        List<Path> files = new ArrayList<>();
+        if(Files.isDirectory(path)){
+            try(DirectoryStream<Path> entries = Files.newDirectoryStream(path, "*" + PUZZLE_SUFFIX)){
+                entries.forEach(files::add);
+            }
+        } else if(argument.contains("*") || argument.contains("?") || argument.contains("[")){
+            Path directory = path.getParent() != null ? path.getParent() : Path.of(".");
+            PathMatcher matcher = directory.getFileSystem().getPathMatcher("glob:" + path.getFileName());
+            try(DirectoryStream<Path> entries = Files.newDirectoryStream(directory)){
+                for(Path entry : entries){
+                    if(matcher.matches(entry.getFileName()) && Files.isRegularFile(entry)){
+                        files.add(entry);
+                    }
+                }
+            }
+        } else {
+            files.add(path);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * Names the solution file of a puzzle file
+     *
+     * @param file the puzzle file
+     * @return String the name with .txt replaced by -out.txt
+     */
+    private static String outName(Path file){
+        String name = file.getFileName().toString();
+        if(name.endsWith(PUZZLE_SUFFIX)){
+            name = name.substring(0, name.length() - PUZZLE_SUFFIX.length());
+        }
+        return name + OUT_SUFFIX;
+    }
+
+    /**
+     * One puzzle's line of the summary table.
+     */
+    private static class Row {
+        /** the puzzle file */
+        private final String file;
+        /** the steps in the solution, -1 if there is none */
+        private final int steps;
+        /** the configurations made by the solve */
+        private final int total;
+        /** the different configurations seen by the solve */
+        private final int unique;
+        /** the milliseconds taken to solve and write the puzzle */
+        private final long millis;
+
+        /**
+         * Constructor for a row
+         *
+         * @param file the puzzle file
+         * @param result the result of the solve
+         * @param millis the milliseconds taken to solve and write the puzzle
+         */
+        private Row(String file, SolveResult result, long millis){
+            this.file = file;
+            this.steps = result.getPath().size() - 1;
+            this.total = result.getTotalCount();
+            this.unique = result.getUniqueCount();
+            this.millis = millis;
+        }
+
+        /**
+         * Returns a row of the table, lined up under HEADER.
+         *
+         * @return the string representation
+         */
+        @Override
+        public String toString(){
+            return String.format("%-40s %8s %12d %12d %10d",
+                    file, steps < 0 ? "none" : Integer.toString(steps), total, unique, millis);
+        }
+    }
+}
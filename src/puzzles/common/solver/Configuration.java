@@ -1,6 +1,7 @@
 package puzzles.common.solver;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * The representation of a single configuration for a puzzle.
@@ -25,6 +26,17 @@ public interface Configuration {
      */
     Collection<Configuration> getNeighbors();
 
+    /**
+     * Hands each successor of the current one to a sink, in the same order
+     * getNeighbors() gives them, without making a collection to hold them.
+     * A solver can pass the same sink for every configuration it expands.
+     *
+     * @param sink takes each successor
+     */
+    default void forEachNeighbor(Consumer<Configuration> sink){
+        getNeighbors().forEach(sink);
+    }
+
     /**
      * Checks if the current configuration is equal to other configuration
      *
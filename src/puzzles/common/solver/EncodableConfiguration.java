@@ -0,0 +1,40 @@
+package puzzles.common.solver;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A configuration that can be written as a fixed number of bytes. Every
+ * configuration of one puzzle takes the same number of bytes, and two
+ * configurations are equal exactly when their bytes are, so the bytes can
+ * stand for the configuration in sorted files, tables and caches without
+ * keeping any objects around.
+ *
+ * @author Patricio Solis
+ */
+public interface EncodableConfiguration extends Configuration {
+
+    /**
+     * Gives the number of bytes encode() writes, the same for every
+     * configuration of this puzzle
+     *
+     * @return int the width of an encoded configuration in bytes
+     */
+    int getEncodedWidth();
+
+    /**
+     * Writes the configuration at the position of a buffer and moves the
+     * position past it
+     *
+     * @param buffer where the getEncodedWidth() bytes are written
+     */
+    void encode(ByteBuffer buffer);
+
+    /**
+     * Reads a configuration of this puzzle written by encode() from the
+     * position of a buffer and moves the position past it
+     *
+     * @param buffer where the getEncodedWidth() bytes are read from
+     * @return EncodableConfiguration the configuration the bytes stand for
+     */
+    EncodableConfiguration decode(ByteBuffer buffer);
+}
@@ -0,0 +1,538 @@
+package puzzles.common.solver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
+
+/**
+ * Solves puzzles using BFS with the configurations kept in files instead of
+ * a map, for puzzles with more configurations than fit in memory. Each level
+ * of the search is a file of encoded configurations in sorted order. The
+ * next level is made by encoding the neighbors of a level into a buffer,
+ * sorting every full buffer into a run file, and merging the runs while
+ * dropping the ones already in the last few levels. Once a solution is
+ * found the path is recovered by scanning the levels back from it for a
+ * configuration that has the one after it as a neighbor.
+ *
+ * Only the buffers come out of the heap budget, so the memory used stays
+ * the same however many configurations the puzzle has. Checking the last
+ * two levels finds every repeat when each move can be undone, as in Slide.
+ * Puzzles whose moves can't be undone should check more levels, repeats
+ * that get past the check are searched again but never make a path longer.
+ *
+ * @author Patricio Solis
+ */
+public class ExternalSolver {
+
+    /** the levels checked for repeats by default, enough when every move can be undone */
+    public static final int DEFAULT_LEVELS_CHECKED = 2;
+    /** the most runs merged at once, more are merged in passes so only this many files are open */
+    private static final int MAX_MERGE_WAYS = 64;
+
+    /** the directory the level files are made in */
+    private final Path directory;
+    /** the bytes the sort and merge buffers may take from the heap */
+    private final long heapBudget;
+    /** the number of earlier levels a new level is checked against for repeats */
+    private final int levelsChecked;
+
+    /**
+     * Constructor for a solver that checks the last two levels for repeats
+     *
+     * @param directory the directory the level files are made in, made if it doesn't exist
+     * @param heapBudget the bytes the sort and merge buffers may take from the heap
+     */
+    public ExternalSolver(Path directory, long heapBudget){
+        this(directory, heapBudget, DEFAULT_LEVELS_CHECKED);
+    }
+
+    /**
+     * Constructor for an external solver
+     *
+     * @param directory the directory the level files are made in, made if it doesn't exist
+     * @param heapBudget the bytes the sort and merge buffers may take from the heap
+     * @param levelsChecked the number of earlier levels a new level is checked against for repeats
+     * @throws IllegalArgumentException if the budget isn't positive or no levels are checked
+     */
+    public ExternalSolver(Path directory, long heapBudget, int levelsChecked){
+        if(heapBudget <= 0 || levelsChecked < 1){
+            throw new IllegalArgumentException("Budget of " + heapBudget + " bytes checking "
+                    + levelsChecked + " levels");
+        }
+        this.directory = directory;
+        this.heapBudget = heapBudget;
+        this.levelsChecked = levelsChecked;
+    }
+
+    /**
+     * Solves the puzzle given an initial configuration using BFS on disk
+     *
+     * @param start initial configuration of puzzle
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     * @throws IOException if the level files can't be written or read
+     */
+    public SolveResult solve(EncodableConfiguration start) throws IOException {
+        return solve(start, SolverListener.NONE);
+    }
+
+    /**
+     * Solves the puzzle given an initial configuration using BFS on disk,
+     * reporting progress to a listener that can cancel the solve. Counts
+     * too big for an int are capped at Integer.MAX_VALUE.
+     *
+     * @param start initial configuration of puzzle
+     * @param listener hears the progress of the search and can cancel it
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     * @throws IOException if the level files can't be written or read
+     * @throws CancellationException if the listener cancels the solve
+     */
+    public SolveResult solve(EncodableConfiguration start, SolverListener listener) throws IOException {
+        long startTime = System.nanoTime();
+        int width = start.getEncodedWidth();
+        int sortBytes = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(width, heapBudget / 2)) / width * width;
+        long mergeBytes = Math.max(width, heapBudget - sortBytes);
+
+        Files.createDirectories(directory);
+        Path work = Files.createTempDirectory(directory, "bfs");
+        try {
+            List<Path> levels = new ArrayList<>(); // the sorted file of each level of the search
+            levels.add(work.resolve("level-0"));
+            ByteBuffer first = ByteBuffer.allocate(width);
+            start.encode(first);
+            first.flip();
+            try (FileChannel out = FileChannel.open(levels.get(0), StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                writeFully(out, first);
+            }
+
+            long totalConfig = 1; // counts the total number of configurations made
+            long uniqueConfig = 1; // counts the configurations in every level
+            long peakFrontier = 1; // the most configurations in one level
+            long expanded = 0; // counts the configurations expanded
+            byte[] solution = null;
+            byte[] records = new byte[sortBytes]; // neighbors waiting to be sorted into a run
+            ByteBuffer pending = ByteBuffer.wrap(records);
+            int runCount = 0; // numbers the run files so none are made twice
+            while(solution == null){
+                Path level = levels.get(levels.size() - 1);
+                List<Path> runs = new ArrayList<>();
+                try (Cursor cursor = new Cursor(level, width, bufferBytes(mergeBytes, 1, width))) {
+                    for(; cursor.hasRecord(); cursor.advance()){
+                        EncodableConfiguration config = start.decode(ByteBuffer.wrap(cursor.record));
+                        if(config.isSolution()){
+                            solution = cursor.record.clone();
+                            break;
+                        }
+                        if(++expanded % SolverListener.REPORT_INTERVAL == 0){
+                            report(listener, expanded, peakFrontier);
+                        }
+                        for(Configuration neighbor : config.getNeighbors()){
+                            totalConfig += 1;
+                            if(pending.remaining() < width){
+                                runs.add(writeRun(work.resolve("run-" + runCount++), records,
+                                        pending.position() / width, width));
+                                pending.clear();
+                            }
+                            ((EncodableConfiguration) neighbor).encode(pending);
+                        }
+                    }
+                }
+                if(solution != null){
+                    break;
+                }
+                if(pending.position() > 0){
+                    runs.add(writeRun(work.resolve("run-" + runCount++), records, pending.position() / width, width));
+                    pending.clear();
+                }
+                while(runs.size() > MAX_MERGE_WAYS){ // merges runs in groups until one pass can take them all
+                    List<Path> merged = new ArrayList<>();
+                    for(int i = 0; i < runs.size(); i += MAX_MERGE_WAYS){
+                        List<Path> group = runs.subList(i, Math.min(runs.size(), i + MAX_MERGE_WAYS));
+                        Path run = work.resolve("run-" + runCount++);
+                        merge(group, List.of(), run, width, mergeBytes);
+                        for(Path done : group){
+                            Files.delete(done);
+                        }
+                        merged.add(run);
+                    }
+                    runs = merged;
+                }
+                Path next = work.resolve("level-" + levels.size());
+                long count = merge(runs, levels.subList(Math.max(0, levels.size() - levelsChecked), levels.size()),
+                        next, width, mergeBytes);
+                for(Path run : runs){
+                    Files.delete(run);
+                }
+                if(count == 0){ // nothing new left to search
+                    break;
+                }
+                levels.add(next);
+                uniqueConfig += count;
+                peakFrontier = Math.max(peakFrontier, count);
+            }
+
+            SolutionPath path = SolutionPath.EMPTY;
+            if(solution != null){
+                byte[][] steps = walkBack(start, levels, solution, width, mergeBytes);
+                path = new SolutionPath(steps.length, step -> start.decode(ByteBuffer.wrap(steps[step])));
+            }
+            return new SolveResult(path, cap(totalConfig), cap(uniqueConfig), cap(peakFrontier),
+                    System.nanoTime() - startTime);
+        } finally {
+            try (Stream<Path> files = Files.list(work)) {
+                for(Path file : (Iterable<Path>) files::iterator){
+                    Files.delete(file);
+                }
+            }
+            Files.delete(work);
+        }
+    }
+
+    /**
+     * Finds the configurations that lead to a solution found in the last
+     * level by scanning each level before it for a configuration that has
+     * the one after it as a neighbor
+     *
+     * @param start initial configuration of puzzle, used to decode the others
+     * @param levels the sorted file of each level, the solution in the last one
+     * @param solution the encoded solution
+     * @param width the width of an encoded configuration
+     * @param bufferBytes the bytes the read buffer may take
+     * @return byte[][] the encoded configurations from the start to the solution
+     * @throws IOException if a level file can't be read
+     */
+    private static byte[][] walkBack(EncodableConfiguration start, List<Path> levels, byte[] solution,
+                                     int width, long bufferBytes) throws IOException {
+        byte[][] steps = new byte[levels.size()][];
+        steps[steps.length - 1] = solution;
+        ByteBuffer neighborBytes = ByteBuffer.allocate(width);
+        for(int step = steps.length - 2; step >= 0; step--){
+            try (Cursor cursor = new Cursor(levels.get(step), width, bufferBytes(bufferBytes, 1, width))) {
+                for(; steps[step] == null && cursor.hasRecord(); cursor.advance()){
+                    EncodableConfiguration config = start.decode(ByteBuffer.wrap(cursor.record));
+                    for(Configuration neighbor : config.getNeighbors()){
+                        neighborBytes.clear();
+                        ((EncodableConfiguration) neighbor).encode(neighborBytes);
+                        if(Arrays.equals(neighborBytes.array(), steps[step + 1])){
+                            steps[step] = cursor.record.clone();
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Merges sorted runs into the next level or a bigger run, keeping each
+     * configuration once and dropping the ones already in the earlier levels given
+     *
+     * @param runs the sorted run files of the neighbors of the last level
+     * @param earlier the sorted files of the levels to check for repeats
+     * @param next the file the merged configurations are written to
+     * @param width the width of an encoded configuration
+     * @param mergeBytes the bytes the read and write buffers may take together
+     * @return long the number of configurations written
+     * @throws IOException if a file can't be read or written
+     */
+    private static long merge(List<Path> runs, List<Path> earlier, Path next, int width, long mergeBytes)
+            throws IOException {
+        int bufferBytes = bufferBytes(mergeBytes, runs.size() + earlier.size() + 1, width);
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((a, b) -> Arrays.compareUnsigned(a.record, b.record));
+        List<Cursor> open = new ArrayList<>();
+        long count = 0;
+        try (FileChannel out = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            for(Path run : runs){
+                Cursor cursor = new Cursor(run, width, bufferBytes);
+                open.add(cursor);
+                if(cursor.hasRecord()){
+                    heads.add(cursor);
+                }
+            }
+            List<Cursor> seen = new ArrayList<>();
+            for(Path level : earlier){
+                Cursor cursor = new Cursor(level, width, bufferBytes);
+                open.add(cursor);
+                seen.add(cursor);
+            }
+
+            ByteBuffer written = ByteBuffer.allocate(bufferBytes);
+            byte[] last = new byte[width];
+            boolean any = false;
+            while(!heads.isEmpty()){
+                Cursor head = heads.poll();
+                if(!any || !Arrays.equals(head.record, last)){ // runs only repeat across each other
+                    System.arraycopy(head.record, 0, last, 0, width);
+                    any = true;
+                    if(!contains(seen, last)){
+                        if(written.remaining() < width){
+                            written.flip();
+                            writeFully(out, written);
+                            written.clear();
+                        }
+                        written.put(last);
+                        count += 1;
+                    }
+                }
+                if(head.advance()){
+                    heads.add(head);
+                }
+            }
+            written.flip();
+            writeFully(out, written);
+        } finally {
+            for(Cursor cursor : open){
+                cursor.close();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks if earlier levels hold a configuration, moving each level's
+     * cursor up to it. Configurations have to be checked in sorted order.
+     *
+     * @param levels the cursors of the levels to check
+     * @param record the encoded configuration
+     * @return boolean true if any level holds it, false otherwise
+     * @throws IOException if a level file can't be read
+     */
+    private static boolean contains(List<Cursor> levels, byte[] record) throws IOException {
+        for(Cursor level : levels){
+            while(level.hasRecord() && Arrays.compareUnsigned(level.record, record) < 0){
+                level.advance();
+            }
+            if(level.hasRecord() && Arrays.equals(level.record, record)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorts the encoded configurations in a buffer and writes each one once to a new run file
+     *
+     * @param run the file the run is written to
+     * @param records the encoded configurations back to back
+     * @param count the number of configurations in the buffer
+     * @param width the width of an encoded configuration
+     * @return Path the run file
+     * @throws IOException if the run can't be written
+     */
+    private static Path writeRun(Path run, byte[] records, int count, int width) throws IOException {
+        sort(records, count, width);
+        int kept = 0;
+        for(int i = 0; i < count; i++){
+            if(kept == 0 || compare(records, kept - 1, i, width) != 0){
+                System.arraycopy(records, i * width, records, kept * width, width);
+                kept += 1;
+            }
+        }
+        try (FileChannel out = FileChannel.open(run, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.wrap(records, 0, kept * width));
+        }
+        return run;
+    }
+
+    /**
+     * Heap sorts fixed width records in place, so sorting a run takes no
+     * memory beyond the buffer holding it
+     *
+     * @param records the records back to back
+     * @param count the number of records
+     * @param width the width of a record
+     */
+    private static void sort(byte[] records, int count, int width){
+        byte[] swap = new byte[width];
+        for(int root = count / 2 - 1; root >= 0; root--){
+            siftDown(records, root, count, width, swap);
+        }
+        for(int end = count - 1; end > 0; end--){
+            swap(records, 0, end, width, swap);
+            siftDown(records, 0, end, width, swap);
+        }
+    }
+
+    /**
+     * Moves a record down the heap until it is no smaller than its children
+     *
+     * @param records the records back to back
+     * @param root the record to move down
+     * @param count the number of records in the heap
+     * @param width the width of a record
+     * @param swap space for one record
+     */
+    private static void siftDown(byte[] records, int root, int count, int width, byte[] swap){
+        int child;
+        while((child = 2 * root + 1) < count){
+            if(child + 1 < count && compare(records, child, child + 1, width) < 0){
+                child += 1;
+            }
+            if(compare(records, root, child, width) >= 0){
+                return;
+            }
+            swap(records, root, child, width, swap);
+            root = child;
+        }
+    }
+
+    /**
+     * Compares two records as unsigned bytes
+     *
+     * @param records the records back to back
+     * @param a the first record
+     * @param b the second record
+     * @param width the width of a record
+     * @return int negative, zero or positive as the first record is before, the same as or after the second
+     */
+    private static int compare(byte[] records, int a, int b, int width){
+        return Arrays.compareUnsigned(records, a * width, a * width + width, records, b * width, b * width + width);
+    }
+
+    /**
+     * Swaps two records
+     *
+     * @param records the records back to back
+     * @param a the first record
+     * @param b the second record
+     * @param width the width of a record
+     * @param swap space for one record
+     */
+    private static void swap(byte[] records, int a, int b, int width, byte[] swap){
+        System.arraycopy(records, a * width, swap, 0, width);
+        System.arraycopy(records, b * width, records, a * width, width);
+        System.arraycopy(swap, 0, records, b * width, width);
+    }
+
+    /**
+     * Splits the merge budget between buffers, each holding at least one record
+     *
+     * @param mergeBytes the bytes all the buffers may take together
+     * @param buffers the number of buffers
+     * @param width the width of a record
+     * @return int the bytes of each buffer, a whole number of records
+     */
+    private static int bufferBytes(long mergeBytes, int buffers, int width){
+        long each = Math.min(Integer.MAX_VALUE - 8, mergeBytes / buffers);
+        return (int) Math.max(1, each / width) * width;
+    }
+
+    /**
+     * Writes everything left in a buffer to a channel
+     *
+     * @param out the channel written to
+     * @param buffer the bytes to write
+     * @throws IOException if the channel can't be written
+     */
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()){
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * Tells the listener how the solve is going and stops it if it was cancelled
+     *
+     * @param listener hears the progress of the search and can cancel it
+     * @param expanded the number of configurations expanded so far
+     * @param frontier the number of configurations in the biggest level so far
+     * @throws CancellationException if the listener cancels the solve
+     */
+    private static void report(SolverListener listener, long expanded, long frontier){
+        if(listener.isCancelled()){
+            throw new CancellationException("Solve cancelled after " + expanded + " configurations");
+        }
+        listener.progress(cap(expanded), cap(frontier));
+    }
+
+    /**
+     * Fits a count into an int
+     *
+     * @param count the count
+     * @return int the count, Integer.MAX_VALUE if it is bigger
+     */
+    private static int cap(long count){
+        return (int) Math.min(Integer.MAX_VALUE, count);
+    }
+
+    /**
+     * Reads fixed width records from a file one at a time through a buffer
+     */
+    private static class Cursor implements Closeable {
+        /** the file being read */
+        private final FileChannel channel;
+        /** the bytes read ahead of the current record */
+        private final ByteBuffer buffer;
+        /** the current record, only valid while hasRecord() */
+        private final byte[] record;
+        /** true while there is a current record */
+        private boolean more;
+
+        /**
+         * Constructor for a cursor at the first record of a file
+         *
+         * @param file the file of records
+         * @param width the width of a record
+         * @param bufferBytes the bytes read at a time, a whole number of records
+         * @throws IOException if the file can't be read
+         */
+        private Cursor(Path file, int width, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocate(bufferBytes);
+            this.buffer.flip();
+            this.record = new byte[width];
+            advance();
+        }
+
+        /**
+         * Moves to the next record
+         *
+         * @return boolean true if there is a next record, false at the end of the file
+         * @throws IOException if the file can't be read
+         */
+        private boolean advance() throws IOException {
+            if(buffer.remaining() < record.length){
+                buffer.compact();
+                while(buffer.hasRemaining() && channel.read(buffer) > 0){
+                    // keeps reading until the buffer is full or the file ends
+                }
+                buffer.flip();
+            }
+            more = buffer.remaining() >= record.length;
+            if(more){
+                buffer.get(record);
+            }
+            return more;
+        }
+
+        /**
+         * Checks if the cursor is at a record
+         *
+         * @return boolean true if there is a current record, false at the end of the file
+         */
+        private boolean hasRecord(){
+            return more;
+        }
+
+        /**
+         * Closes the file
+         *
+         * @throws IOException if the file can't be closed
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package puzzles.common.solver;
+
+/**
+ * A configuration that can estimate how far it is from a solution. The
+ * informed solvers depend on this routine to search the most promising
+ * configurations first, so the estimate must never be more than the
+ * actual number of moves left.
+ *
+ * @author Patricio Solis
+ */
+public interface HeuristicConfiguration extends Configuration {
+
+    /**
+     * Estimates the number of moves from the current configuration to
+     * the closest solution without ever going over it.
+     *
+     * @return int the estimated number of moves left
+     */
+    int heuristic();
+}
@@ -0,0 +1,225 @@
+package puzzles.common.solver;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of hints. It maps a configuration to the configuration
+ * after the next move of a shortest solution and to the number of moves
+ * left. Each solve fills in every configuration on the path it found, so
+ * following hints down a solution only searches once. When the cache is
+ * full the configuration used least recently is dropped. The cache can be
+ * shared by many threads.
+ *
+ * @author Patricio Solis
+ */
+public class HintCache {
+
+    /** the most configurations the cache holds */
+    private final int capacity;
+    /** the cached hints, least recently used first */
+    private final LinkedHashMap<Configuration, Hint> hints;
+    /** counts the lookups that were cached */
+    private final AtomicLong hits = new AtomicLong();
+    /** counts the lookups that needed a solve */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor for the hint cache
+     *
+     * @param capacity the most configurations the cache holds
+     */
+    public HintCache(int capacity){
+        if(capacity < 1){
+            throw new IllegalArgumentException("Hint cache capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.hints = new LinkedHashMap<>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Configuration, Hint> eldest){
+                return size() > HintCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gives the hint for a configuration, solving it with the given solver
+     * only if the hint isn't already cached
+     *
+     * @param config the configuration to get a hint for
+     * @param solver the solver used if the hint isn't cached
+     * @return Hint the next move and moves left for the configuration
+     */
+    public Hint hint(Configuration config, Solver solver){
+        return hint(config, solver, SolverListener.NONE);
+    }
+
+    /**
+     * Gives the hint for a configuration, solving it with the given solver
+     * only if the hint isn't already cached
+     *
+     * @param config the configuration to get a hint for
+     * @param solver the solver used if the hint isn't cached
+     * @param listener hears the progress of the solve and can cancel it
+     * @return Hint the next move and moves left for the configuration
+     * @throws java.util.concurrent.CancellationException if the listener cancels the solve
+     */
+    public Hint hint(Configuration config, Solver solver, SolverListener listener){
+        Hint hint = get(config);
+        if(hint != null){
+            hits.incrementAndGet();
+            return hint;
+        }
+        misses.incrementAndGet();
+        List<Configuration> path = solver.solve(config, listener).getPath();
+        if(path.isEmpty()){
+            hint = Hint.UNSOLVABLE;
+            put(config, hint);
+        } else {
+            hint = putPath(path);
+        }
+        return hint;
+    }
+
+    /**
+     * Caches the hint for every configuration on a solution path
+     *
+     * @param path the configurations that lead to the solution in order, not empty
+     * @return Hint the hint for the first configuration on the path
+     */
+    public Hint putPath(List<Configuration> path){
+        Hint hint = null;
+        for(int i = path.size() - 1; i >= 0; i--){ // goes backward so each hint knows the one after it
+            hint = new Hint(i + 1 < path.size() ? path.get(i + 1) : null, path.size() - 1 - i);
+            put(path.get(i), hint);
+        }
+        return hint;
+    }
+
+    /**
+     * Gives the cached hint for a configuration without counting the lookup
+     *
+     * @param config the configuration to get a hint for
+     * @return Hint the cached hint, null if there is none
+     */
+    public synchronized Hint get(Configuration config){
+        return hints.get(config);
+    }
+
+    /**
+     * Caches the hint for a configuration
+     *
+     * @param config the configuration the hint is for
+     * @param hint the hint for the configuration
+     */
+    private synchronized void put(Configuration config, Hint hint){
+        hints.put(config, hint);
+    }
+
+    /**
+     * Drops every cached hint, the hit and miss counts are kept
+     */
+    public synchronized void clear(){
+        hints.clear();
+    }
+
+    /**
+     * Size accessor
+     *
+     * @return int the number of configurations cached
+     */
+    public synchronized int size(){
+        return hints.size();
+    }
+
+    /**
+     * Capacity accessor
+     *
+     * @return int the most configurations the cache holds
+     */
+    public int getCapacity(){
+        return capacity;
+    }
+
+    /**
+     * Hit Count accessor
+     *
+     * @return long the number of hints that were cached
+     */
+    public long getHits(){
+        return hits.get();
+    }
+
+    /**
+     * Miss Count accessor
+     *
+     * @return long the number of hints that needed a solve
+     */
+    public long getMisses(){
+        return misses.get();
+    }
+
+    /**
+     * Returns a string representation of the cache counts, suitable for printing out.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString(){
+        return "HintCache[size=" + size() + "/" + capacity + ", hits=" + getHits() + ", misses=" + getMisses() + "]";
+    }
+
+    /**
+     * The hint for one configuration, the configuration after the next
+     * move of a shortest solution and the number of moves left.
+     */
+    public static class Hint {
+        /** the hint for a configuration that can't be solved */
+        public static final Hint UNSOLVABLE = new Hint(null, -1);
+
+        /** the configuration after the next move, null if solved or unsolvable */
+        private final Configuration next;
+        /** the number of moves left to the solution, -1 if unsolvable */
+        private final int distance;
+
+        /**
+         * Constructor for a hint
+         *
+         * @param next the configuration after the next move, null if solved or unsolvable
+         * @param distance the number of moves left to the solution, -1 if unsolvable
+         */
+        private Hint(Configuration next, int distance){
+            this.next = next;
+            this.distance = distance;
+        }
+
+        /**
+         * Next accessor
+         *
+         * @return Configuration the configuration after the next move, null if solved or unsolvable
+         */
+        public Configuration getNext(){
+            return next;
+        }
+
+        /**
+         * Distance accessor
+         *
+         * @return int the number of moves left to the solution, -1 if unsolvable
+         */
+        public int getDistance(){
+            return distance;
+        }
+
+        /**
+         * Checks if the configuration can be solved
+         *
+         * @return boolean true if there is a solution, false otherwise
+         */
+        public boolean isSolvable(){
+            return distance >= 0;
+        }
+    }
+}
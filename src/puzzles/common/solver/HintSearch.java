@@ -0,0 +1,143 @@
+package puzzles.common.solver;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Looks for a hint on a background thread so the caller's thread stays
+ * free. Progress and the hint found are handed to a callback executor, a
+ * GUI passes one that runs them on its own thread. A search that fails
+ * hands what went wrong to the callback executor instead of a hint. A
+ * search that is cancelled stops at its next progress check and calls
+ * back nothing more.
+ *
+ * @author Patricio Solis
+ */
+public class HintSearch implements SolverListener {
+
+    /** the least time between two progress reports in nanoseconds */
+    private static final long REPORT_NANOS = 100_000_000L;
+
+    /** the thread hint searches run on, one at a time, it never keeps the program running */
+    private static final ExecutorService SEARCH_THREAD = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "hint-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** the cache the hint is looked up in and saved to */
+    private final HintCache cache;
+    /** the solver used if the hint isn't cached */
+    private final Solver solver;
+    /** the configuration to get a hint for, it must not change during the search */
+    private final Configuration start;
+    /** runs the progress reports and the hint found, usually on a GUI thread */
+    private final Executor callback;
+    /** hears the progress of the search on the callback executor */
+    private final SolverListener progress;
+    /** takes the hint found on the callback executor */
+    private final Consumer<HintCache.Hint> finished;
+    /** takes what went wrong on the callback executor if the search fails */
+    private final Consumer<Throwable> failed;
+    /** true once the search has been cancelled */
+    private volatile boolean cancelled = false;
+    /** when progress was last reported, only used on the search thread */
+    private long lastReport = System.nanoTime();
+
+    /**
+     * Constructor for a hint search, the search begins when it is started
+     *
+     * @param cache the cache the hint is looked up in and saved to
+     * @param solver the solver used if the hint isn't cached
+     * @param start the configuration to get a hint for, it must not change during the search
+     * @param callback runs the progress reports and the hint found
+     * @param progress hears the progress of the search on the callback executor
+     * @param finished takes the hint found on the callback executor
+     * @param failed takes what went wrong on the callback executor if the search fails
+     */
+    public HintSearch(HintCache cache, Solver solver, Configuration start, Executor callback,
+                      SolverListener progress, Consumer<HintCache.Hint> finished, Consumer<Throwable> failed){
+        this.cache = cache;
+        this.solver = solver;
+        this.start = start;
+        this.callback = callback;
+        this.progress = progress;
+        this.finished = finished;
+        this.failed = failed;
+    }
+
+    /**
+     * Starts the search on the background thread
+     */
+    public void start(){
+        SEARCH_THREAD.execute(() -> {
+            HintCache.Hint hint;
+            try {
+                hint = cache.hint(start, solver, this);
+            } catch (CancellationException stopped){
+                return;
+            } catch (RuntimeException | Error problem){ // an out of memory board too, so the caller isn't left waiting
+                callback.execute(() -> {
+                    if(!cancelled){
+                        failed.accept(problem);
+                    }
+                });
+                return;
+            }
+            callback.execute(() -> {
+                if(!cancelled){
+                    finished.accept(hint);
+                }
+            });
+        });
+    }
+
+    /**
+     * Cancels the search, nothing more is called back once this returns
+     * on the callback executor's thread
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * Start accessor
+     *
+     * @return Configuration the configuration the hint is for
+     */
+    public Configuration getStart(){
+        return start;
+    }
+
+    /**
+     * Hands progress to the callback executor, at most once every tenth of a second
+     *
+     * @param expanded the number of configurations expanded so far
+     * @param frontier the number of configurations waiting to be tested
+     */
+    @Override
+    public void progress(int expanded, int frontier){
+        long now = System.nanoTime();
+        if(now - lastReport >= REPORT_NANOS){
+            lastReport = now;
+            callback.execute(() -> {
+                if(!cancelled){
+                    progress.progress(expanded, frontier);
+                }
+            });
+        }
+    }
+
+    /**
+     * Checks if the search has been cancelled
+     *
+     * @return boolean true if the search should stop, false otherwise
+     */
+    @Override
+    public boolean isCancelled(){
+        return cancelled;
+    }
+}
@@ -0,0 +1,165 @@
+package puzzles.common.solver;
+
+/**
+ * A hash map from long keys to long values stored in two primitive arrays
+ * with open addressing, for solvers that can pack a configuration into a
+ * single long. Nothing is allocated per entry and the arrays double in size
+ * whenever they become half full.
+ *
+ * @author Patricio Solis
+ */
+public class LongLongMap {
+
+    /** the key marking an empty slot; a real key equal to it is kept on the side */
+    private static final long FREE = 0;
+    /** the smallest number of slots the map starts with */
+    private static final int MIN_CAPACITY = 16;
+
+    /** the keys, FREE where a slot is empty */
+    private long[] keys;
+    /** the value for the key at the same slot */
+    private long[] values;
+    /** true if the FREE key itself has been put in the map */
+    private boolean hasFreeKey;
+    /** the value of the FREE key */
+    private long freeValue;
+    /** the number of keys in the map */
+    private int size;
+
+    /**
+     * Constructor for an empty map
+     *
+     * @param expected the number of keys the map should hold without growing
+     */
+    public LongLongMap(int expected){
+        int capacity = MIN_CAPACITY;
+        while(capacity < expected * 2L && capacity < (1 << 30)){
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        values = new long[capacity];
+    }
+
+    /**
+     * Puts the key in the map with the given value unless it is already there
+     *
+     * @param key the key to be added
+     * @param value the value for the key
+     * @return boolean true if the key was added, false if it was already in the map
+     */
+    public boolean putIfAbsent(long key, long value){
+        if(key == FREE){
+            if(hasFreeKey){
+                return false;
+            }
+            hasFreeKey = true;
+            freeValue = value;
+            size += 1;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while(keys[slot] != FREE){ // walks along until the key or an empty slot is found
+            if(keys[slot] == key){
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size += 1;
+        if(size * 2 > keys.length){
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the key is in the map
+     *
+     * @param key the key to be checked
+     * @return boolean true if the key is in the map, false otherwise
+     */
+    public boolean containsKey(long key){
+        if(key == FREE){
+            return hasFreeKey;
+        }
+        return find(key) >= 0;
+    }
+
+    /**
+     * Gets the value of the key
+     *
+     * @param key the key to be looked up
+     * @param missing the value to return if the key is not in the map
+     * @return long the value of the key, or missing if the key is not in the map
+     */
+    public long get(long key, long missing){
+        if(key == FREE){
+            return hasFreeKey ? freeValue : missing;
+        }
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : missing;
+    }
+
+    /**
+     * Size accessor
+     *
+     * @return int the number of keys in the map
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Finds the slot holding the key
+     *
+     * @param key the key to be found, never FREE
+     * @return int the slot of the key, or -1 if the key is not in the map
+     */
+    private int find(long key){
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while(keys[slot] != FREE){
+            if(keys[slot] == key){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Doubles the number of slots and puts every key back in
+     */
+    private void grow(){
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for(int i = 0; i < oldKeys.length; i++){
+            if(oldKeys[i] != FREE){
+                int slot = slot(oldKeys[i], mask);
+                while(keys[slot] != FREE){
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of the key so that keys differing only in a few bits
+     * land far apart, and picks the first slot to try.
+     *
+     * @param key the key to be placed
+     * @param mask one less than the number of slots
+     * @return int the first slot for the key
+     */
+    private static int slot(long key, int mask){
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,42 @@
+package puzzles.common.solver;
+
+/**
+ * A SolverListener that also hears about every configuration a BFS
+ * expands and every depth it reaches. The solver only times its work when
+ * its listener is one of these, so plain listeners cost nothing extra.
+ *
+ * @author Patricio Solis
+ */
+public interface MetricsListener extends SolverListener {
+
+    /**
+     * Called once before the start configuration is expanded
+     */
+    void started();
+
+    /**
+     * Called after a configuration is expanded
+     *
+     * @param neighbors the number of neighbors it had
+     * @param duplicates the number of those that had been seen before
+     * @param neighborNanos the time getNeighbors() took
+     * @param lookupNanos the time hashing and looking up the neighbors took
+     */
+    void expanded(int neighbors, int duplicates, long neighborNanos, long lookupNanos);
+
+    /**
+     * Called when every configuration at one depth has been expanded
+     *
+     * @param depth the depth about to be expanded, 1 for the neighbors of the start
+     * @param frontier the number of configurations at that depth
+     * @param visited the number of configurations seen so far
+     */
+    void depth(int depth, int frontier, int visited);
+
+    /**
+     * Called once when the solve is done, but not if it was cancelled
+     *
+     * @param result the result of the solve
+     */
+    void finished(SolveResult result);
+}
@@ -0,0 +1,201 @@
+package puzzles.common.solver;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A table of encoded configurations and the index of the one before each,
+ * kept in direct buffers outside the heap so a search with millions of
+ * configurations leaves the garbage collector nothing to trace. Entries
+ * are numbered in the order they are added and never removed, so in a BFS
+ * the entries past the one being expanded are the queue. Lookups use open
+ * addressing over a table of entry numbers that doubles whenever it
+ * becomes half full.
+ *
+ * @author Patricio Solis
+ */
+public class OffHeapStateTable {
+
+    /** the parent of the first entry */
+    public static final int NO_PARENT = -1;
+    /** the slot value marking an empty slot, entry numbers are stored one higher */
+    private static final int FREE = 0;
+    /** the smallest number of slots the table starts with */
+    private static final int MIN_CAPACITY = 16;
+    /** the most slots the table grows to, a gigabyte of ints */
+    private static final int MAX_CAPACITY = 1 << 28;
+    /** the most bytes in one buffer of entries, small enough that a small search doesn't clear much */
+    private static final int CHUNK_BYTES = 1 << 22;
+
+    /** the width of an encoded configuration */
+    private final int width;
+    /** the width of an entry, the encoded configuration then its parent */
+    private final int entryWidth;
+    /** the number of entries in each buffer of entries */
+    private final int chunkEntries;
+    /** the buffers of entries, each made when the one before fills up */
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    /** the entry number plus one at each slot, FREE where a slot is empty */
+    private IntBuffer slots;
+    /** the number of entries */
+    private int size;
+
+    /**
+     * Constructor for an empty table
+     *
+     * @param width the width of an encoded configuration
+     * @param expected the number of entries the table should hold without growing
+     */
+    public OffHeapStateTable(int width, int expected){
+        this.width = width;
+        this.entryWidth = width + Integer.BYTES;
+        this.chunkEntries = Math.max(1, CHUNK_BYTES / entryWidth);
+        int capacity = MIN_CAPACITY;
+        while(capacity < expected * 2L && capacity < MAX_CAPACITY){
+            capacity <<= 1;
+        }
+        this.slots = allocateSlots(capacity);
+    }
+
+    /**
+     * Adds an encoded configuration unless it is already in the table
+     *
+     * @param state the encoded configuration, width bytes
+     * @param parent the number of the entry before it, NO_PARENT for the first
+     * @return int the number of the new entry, or -1 if it was already in the table
+     * @throws IllegalStateException if the table can't hold any more entries
+     */
+    public int addIfAbsent(byte[] state, int parent){
+        int mask = slots.capacity() - 1;
+        int slot = slot(hash(state), mask);
+        int entry;
+        while((entry = slots.get(slot)) != FREE){ // walks along until the state or an empty slot is found
+            if(matches(entry - 1, state)){
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if(size + 1 >= slots.capacity()){
+            throw new IllegalStateException("Table is full at " + size + " configurations");
+        }
+        int index = size;
+        if(index % chunkEntries == 0){
+            chunks.add(ByteBuffer.allocateDirect(chunkEntries * entryWidth));
+        }
+        ByteBuffer chunk = chunks.get(index / chunkEntries);
+        int offset = (index % chunkEntries) * entryWidth;
+        chunk.put(offset, state);
+        chunk.putInt(offset + width, parent);
+        slots.put(slot, index + 1);
+        size += 1;
+        if(size * 2L > slots.capacity() && slots.capacity() < MAX_CAPACITY){
+            grow();
+        }
+        return index;
+    }
+
+    /**
+     * Copies an encoded configuration out of the table
+     *
+     * @param index the number of the entry
+     * @param into where the width bytes of the configuration are copied
+     */
+    public void get(int index, byte[] into){
+        chunks.get(index / chunkEntries).get((index % chunkEntries) * entryWidth, into, 0, width);
+    }
+
+    /**
+     * Gets the entry before an entry
+     *
+     * @param index the number of the entry
+     * @return int the number of the entry it was added from, NO_PARENT for the first
+     */
+    public int getParent(int index){
+        return chunks.get(index / chunkEntries).getInt((index % chunkEntries) * entryWidth + width);
+    }
+
+    /**
+     * Size accessor
+     *
+     * @return int the number of entries in the table
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Checks if an entry holds an encoded configuration
+     *
+     * @param index the number of the entry
+     * @param state the encoded configuration
+     * @return boolean true if the bytes are the same, false otherwise
+     */
+    private boolean matches(int index, byte[] state){
+        ByteBuffer chunk = chunks.get(index / chunkEntries);
+        int offset = (index % chunkEntries) * entryWidth;
+        for(int i = 0; i < width; i++){
+            if(chunk.get(offset + i) != state[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the number of slots and puts every entry back in
+     */
+    private void grow(){
+        IntBuffer grown = allocateSlots(slots.capacity() * 2);
+        int mask = grown.capacity() - 1;
+        byte[] state = new byte[width];
+        for(int index = 0; index < size; index++){
+            get(index, state);
+            int slot = slot(hash(state), mask);
+            while(grown.get(slot) != FREE){
+                slot = (slot + 1) & mask;
+            }
+            grown.put(slot, index + 1);
+        }
+        slots = grown;
+    }
+
+    /**
+     * Makes an empty table of slots outside the heap
+     *
+     * @param capacity the number of slots, a power of two
+     * @return IntBuffer the slots, all FREE
+     */
+    private static IntBuffer allocateSlots(int capacity){
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Hashes the bytes of an encoded configuration with FNV-1a
+     *
+     * @param state the encoded configuration
+     * @return long the hash of the bytes
+     */
+    private static long hash(byte[] state){
+        long hash = 0xCBF29CE484222325L;
+        for(byte b : state){
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Spreads the bits of the hash so that states differing only in a few
+     * bytes land far apart, and picks the first slot to try.
+     *
+     * @param hash the hash of the state
+     * @param mask one less than the number of slots
+     * @return int the first slot for the state
+     */
+    private static int slot(long hash, int mask){
+        long mixed = hash * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
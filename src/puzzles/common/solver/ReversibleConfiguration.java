@@ -0,0 +1,29 @@
+package puzzles.common.solver;
+
+import java.util.Collection;
+
+/**
+ * A configuration whose moves can be traced backwards. The bidirectional
+ * solver depends on these routines to search from the goal back towards
+ * the start, so only puzzles with a single known goal implement it.
+ *
+ * @author Patricio Solis
+ */
+public interface ReversibleConfiguration extends Configuration {
+
+    /**
+     * Get the collection of configurations that have the current one
+     * as a neighbor.
+     *
+     * @return All predecessors of the current configuration
+     */
+    Collection<Configuration> getPredecessors();
+
+    /**
+     * Makes the single goal configuration of the puzzle that the
+     * current configuration belongs to.
+     *
+     * @return ReversibleConfiguration the solved configuration
+     */
+    ReversibleConfiguration getGoal();
+}
@@ -0,0 +1,170 @@
+package puzzles.common.solver;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * The configurations that lead from the start of a puzzle to its solution.
+ * A path is built in a single walk over the links a search left behind, and
+ * a step is only made the first time it is asked for, so taking just the
+ * first move of a long solution never makes the rest of it. Paths can't be
+ * changed. Steps are kept in an atomic array, so a path can be read from
+ * many threads: threads that ask for the same step at once may each make
+ * it, but they all get the one that was kept first.
+ *
+ * @author Patricio Solis
+ */
+public class SolutionPath extends AbstractList<Configuration> implements RandomAccess {
+
+    /** the path of a puzzle that has no solution */
+    public static final SolutionPath EMPTY = new SolutionPath(0, step -> null);
+
+    /** the number of configurations on the path */
+    private final int size;
+    /** makes the configuration at a step */
+    private final IntFunction<Configuration> step;
+    /** the configurations made so far, null where a step hasn't been asked for yet */
+    private final AtomicReferenceArray<Configuration> steps;
+
+    /**
+     * Constructor for a path whose steps are made when they are first asked for
+     *
+     * @param size the number of configurations on the path
+     * @param step makes the configuration at a step, from 0 for the start to size - 1 for the solution,
+     *             it may be called for the same step from many threads at once
+     */
+    public SolutionPath(int size, IntFunction<Configuration> step){
+        this.size = size;
+        this.step = step;
+        this.steps = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Makes the path that ends at a configuration by following the link from
+     * each configuration back to the one before it
+     *
+     * @param last the last configuration on the path
+     * @param previous gives the configuration before the one given, null for the first
+     * @return SolutionPath the path from the first configuration to the last one
+     */
+    public static SolutionPath walkBack(Configuration last, UnaryOperator<Configuration> previous){
+        return through(last, previous, config -> null);
+    }
+
+    /**
+     * Makes the path that goes through a configuration by following the links
+     * back to the first configuration and forward to the last one. The links
+     * are walked once to count the steps and once more to fill them in from
+     * both ends, so no step is ever moved.
+     *
+     * @param middle a configuration on the path
+     * @param previous gives the configuration before the one given, null for the first
+     * @param next gives the configuration after the one given, null for the last
+     * @return SolutionPath the path from the first configuration to the last one
+     */
+    public static SolutionPath through(Configuration middle, UnaryOperator<Configuration> previous,
+                                       UnaryOperator<Configuration> next){
+        int before = 0; // configurations up to and including the middle one
+        for(Configuration config = middle; config != null; config = previous.apply(config)){
+            before += 1;
+        }
+        int after = 0; // configurations past the middle one
+        for(Configuration config = next.apply(middle); config != null; config = next.apply(config)){
+            after += 1;
+        }
+        Configuration[] path = new Configuration[before + after];
+        int index = before;
+        for(Configuration config = middle; config != null; config = previous.apply(config)){
+            path[--index] = config;
+        }
+        index = before;
+        for(Configuration config = next.apply(middle); config != null; config = next.apply(config)){
+            path[index++] = config;
+        }
+        return new SolutionPath(path.length, step -> path[step]);
+    }
+
+    /**
+     * Makes a path holding the configurations of a list
+     *
+     * @param path the configurations in order
+     * @return SolutionPath the path, the list itself if it already is one
+     */
+    public static SolutionPath of(List<Configuration> path){
+        if(path instanceof SolutionPath solution){
+            return solution;
+        }
+        Configuration[] steps = path.toArray(new Configuration[0]);
+        return new SolutionPath(steps.length, step -> steps[step]);
+    }
+
+    /**
+     * Gives the configuration at a step of the path, making it if it hasn't been asked for before
+     *
+     * @param index the step, 0 for the start
+     * @return Configuration the configuration at that step
+     */
+    @Override
+    public Configuration get(int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Step " + index + " of a path of " + size);
+        }
+        Configuration config = steps.get(index);
+        if(config == null){
+            config = step.apply(index);
+            Configuration kept = steps.compareAndExchange(index, null, config); // another thread may have made it first
+            if(kept != null){
+                config = kept;
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Gives the configuration at a step of the path without keeping it, so a
+     * walk over a long path only holds the steps that were already made
+     *
+     * @param index the step, 0 for the start
+     * @return Configuration the configuration at that step
+     */
+    public Configuration peek(int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Step " + index + " of a path of " + size);
+        }
+        Configuration config = steps.get(index);
+        return config != null ? config : step.apply(index);
+    }
+
+    /**
+     * Gives the number of configurations on the path
+     *
+     * @return int the number of configurations, one more than the number of moves
+     */
+    @Override
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Gives the number of moves the path takes
+     *
+     * @return int the number of moves from the start to the solution, 0 if there is no solution
+     */
+    public int moves(){
+        return Math.max(0, size - 1);
+    }
+
+    /**
+     * Gives the configuration after the first move of the path without making any other step
+     *
+     * @return Optional<Configuration> the configuration after the first move, empty if the path has no moves
+     */
+    public Optional<Configuration> firstMove(){
+        return size > 1 ? Optional.of(get(1)) : Optional.empty();
+    }
+}
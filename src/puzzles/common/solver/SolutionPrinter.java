@@ -0,0 +1,81 @@
+package puzzles.common.solver;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the steps of a solution as "Step i:" followed by the configuration,
+ * one step at a time through a single buffered writer. A step of a
+ * SolutionPath that hasn't been made yet is made just to be written and not
+ * kept, so the first steps are out before the last ones are made and a long
+ * lazy solution is never held in memory all at once.
+ *
+ * @author Patricio Solis
+ */
+public class SolutionPrinter {
+
+    /** the number of characters buffered before they are written out */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * SolutionPrinter is never made, it only prints solutions
+     */
+    private SolutionPrinter(){}
+
+    /**
+     * Prints the steps of a solution to standard output
+     *
+     * @param path the configurations from the start to the solution
+     * @param separator what goes between "Step i:" and the configuration
+     * @throws UncheckedIOException if standard output can't be written to
+     */
+    public static void print(List<Configuration> path, String separator){
+        print(System.out, path, separator);
+    }
+
+    /**
+     * Prints the steps of a solution to a stream, leaving it open
+     *
+     * @param stream where the steps are printed
+     * @param path the configurations from the start to the solution
+     * @param separator what goes between "Step i:" and the configuration
+     * @throws UncheckedIOException if the stream can't be written to
+     */
+    public static void print(PrintStream stream, List<Configuration> path, String separator){
+        stream.flush(); // anything printed before has to come out first
+        Writer out = new BufferedWriter(new OutputStreamWriter(stream), BUFFER_SIZE);
+        try {
+            write(out, path, separator);
+            out.flush(); // the stream stays open for the caller
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the steps of a solution, each on its own line, without flushing
+     * or closing the writer
+     *
+     * @param out where the steps are written
+     * @param path the configurations from the start to the solution
+     * @param separator what goes between "Step i:" and the configuration
+     * @throws IOException if the writer can't be written to
+     */
+    public static void write(Writer out, List<Configuration> path, String separator) throws IOException {
+        SolutionPath solution = path instanceof SolutionPath lazy ? lazy : null;
+        for(int i = 0; i < path.size(); i++){
+            Configuration config = solution != null ? solution.peek(i) : path.get(i);
+            out.write("Step ");
+            out.write(Integer.toString(i));
+            out.write(':');
+            out.write(separator);
+            out.write(config.toString());
+            out.write(System.lineSeparator());
+        }
+    }
+}
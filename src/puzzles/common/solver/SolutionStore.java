@@ -0,0 +1,431 @@
+package puzzles.common.solver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps the solutions of puzzles in a file so a puzzle solved once is never
+ * searched again, by this program or a later one. A solution is found by the
+ * fingerprint of its start, a hash of the start's class and description.
+ * Each step of a solution is saved as the position of the next configuration
+ * among the neighbors of the one before, and the path is rebuilt by making
+ * those neighbors again. Records are only ever added to the end of the file,
+ * and an index of where each one starts is kept in memory, so finding a
+ * solution takes a single read. A store can be shared by many threads, and
+ * by programs that append to the same file at once: the records other
+ * programs added are read into the index under the file lock before every
+ * append and whenever a start isn't found. A file is only opened once in a
+ * program, opening it again gives the same store.
+ *
+ * @author Patricio Solis
+ */
+public class SolutionStore {
+
+    /** the system property holding the file of the store Solvers use, no store if it isn't set */
+    public static final String PROPERTY = "solver.store";
+
+    /** the first int of a store file */
+    private static final int MAGIC = 0x534F4C53;
+    /** the version of the file format */
+    private static final int VERSION = 1;
+    /** the bytes of the magic number and version */
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    /** the bytes of a fingerprint, the start of a SHA-256 hash */
+    private static final int FINGERPRINT_BYTES = 16;
+    /** the bytes of a record before its moves, the fingerprint, the counts, the path size and the move bytes */
+    private static final int RECORD_BYTES = FINGERPRINT_BYTES + 5 * Integer.BYTES;
+
+    /** the stores opened, by file, so a program never opens or locks a file twice */
+    private static final Map<Path, SolutionStore> OPENED = new HashMap<>();
+
+    /** the file the records are in */
+    private final Path file;
+    /** the open file, read at the indexed positions and appended to */
+    private final FileChannel channel;
+    /** where each record starts in the file and how many bytes it takes, by fingerprint */
+    private final Map<ByteBuffer, Location> index = new HashMap<>();
+    /** the position in the file up to which records are in the index, guarded by the index */
+    private long indexed = HEADER_BYTES;
+
+    /**
+     * Constructor for a store, reads the file to build the index
+     *
+     * @param file the file the records are in, made if it doesn't exist
+     * @throws IOException if the file can't be read or is not a store of this version
+     */
+    private SolutionStore(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.lock();
+            try {
+                if(channel.size() == 0){
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+                    channel.write(header, 0);
+                }
+                checkHeader();
+                readRecords();
+            } finally {
+                lock.release();
+            }
+        } catch(IOException failed){
+            channel.close();
+            throw failed;
+        }
+    }
+
+    /**
+     * Opens a store file, or gives the store it was already opened as
+     *
+     * @param file the file the records are in, made if it doesn't exist
+     * @return SolutionStore the store of the file, shared by every caller that opens it
+     * @throws IOException if the file can't be read or is not a store of this version
+     */
+    public static SolutionStore open(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        Path parent = absolute.getParent();
+        if(parent != null){
+            Files.createDirectories(parent);
+        }
+        // the same file reached through links is still one store
+        Path key = Files.exists(absolute) || parent == null ? absolute.toRealPath()
+                : parent.toRealPath().resolve(absolute.getFileName());
+        synchronized(OPENED){
+            SolutionStore store = OPENED.get(key);
+            if(store == null){
+                store = new SolutionStore(key);
+                OPENED.put(key, store);
+            }
+            return store;
+        }
+    }
+
+    /**
+     * Gives the store named by the solver.store system property, opened once
+     * and shared by every caller
+     *
+     * @return SolutionStore the store of the file, null if the property isn't set
+     * @throws UncheckedIOException if the file can't be read or is not a store of this version
+     */
+    public static SolutionStore fromProperty(){
+        String name = System.getProperty(PROPERTY);
+        if(name == null || name.isEmpty()){
+            return null;
+        }
+        try {
+            return open(Path.of(name));
+        } catch(IOException failed){
+            throw new UncheckedIOException("Can't open solution store " + name, failed);
+        }
+    }
+
+    /**
+     * Gives the stored result for a start, or solves it and stores the result
+     *
+     * @param start the initial configuration of the puzzle
+     * @param search solves the puzzle if its result isn't stored
+     * @param <C> the kind of configuration
+     * @return SolveResult the stored result, or the result of the search
+     */
+    public <C extends StorableConfiguration> SolveResult solve(C start, Function<C, SolveResult> search){
+        SolveResult result = find(start);
+        if(result == null){
+            result = search.apply(start);
+            add(start, result);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the stored result for a start
+     *
+     * @param start the initial configuration of the puzzle
+     * @return SolveResult the path and counts of the search that solved it, null if it isn't stored
+     * @throws UncheckedIOException if the file can't be read
+     */
+    public SolveResult find(StorableConfiguration start){
+        long began = System.nanoTime();
+        ByteBuffer key = ByteBuffer.wrap(fingerprint(start));
+        Location location;
+        try {
+            synchronized(index){
+                location = index.get(key);
+                if(location == null && channel.size() > indexed){ // another program may have stored it
+                    FileLock lock = channel.lock();
+                    try {
+                        readRecords();
+                    } finally {
+                        lock.release();
+                    }
+                    location = index.get(key);
+                }
+            }
+            if(location == null){
+                return null;
+            }
+        } catch(IOException failed){
+            throw new UncheckedIOException("Can't read solution store " + file, failed);
+        }
+        ByteBuffer record = ByteBuffer.allocate(location.length);
+        try {
+            while(record.hasRemaining()){
+                if(channel.read(record, location.offset + record.position()) < 0){
+                    return null;
+                }
+            }
+        } catch(IOException failed){
+            throw new UncheckedIOException("Can't read solution store " + file, failed);
+        }
+        record.flip().position(FINGERPRINT_BYTES);
+        int totalCount = record.getInt();
+        int uniqueCount = record.getInt();
+        int peakFrontier = record.getInt();
+        int size = record.getInt();
+        record.getInt(); // the move bytes, already in the location
+        List<Configuration> path = replay(start, size, record);
+        if(path == null){ // the puzzle's moves have changed since it was stored
+            return null;
+        }
+        return new SolveResult(path, totalCount, uniqueCount, peakFrontier, System.nanoTime() - began);
+    }
+
+    /**
+     * Stores the result for a start, unless a result for it is already stored
+     *
+     * @param start the initial configuration of the puzzle
+     * @param result the result of solving it, its path starting at start
+     * @throws UncheckedIOException if the file can't be written
+     */
+    public void add(StorableConfiguration start, SolveResult result){
+        byte[] fingerprint = fingerprint(start);
+        ByteBuffer key = ByteBuffer.wrap(fingerprint);
+        synchronized(index){
+            if(index.containsKey(key)){
+                return;
+            }
+        }
+        byte[] moves = moves(result.getPath());
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES + moves.length);
+        record.put(fingerprint);
+        record.putInt(result.getTotalCount());
+        record.putInt(result.getUniqueCount());
+        record.putInt(result.getPeakFrontier());
+        record.putInt(result.getPath().size());
+        record.putInt(moves.length);
+        record.put(moves);
+        record.flip();
+        synchronized(index){
+            if(index.containsKey(key)){
+                return;
+            }
+            try {
+                FileLock lock = channel.lock(); // other programs may be appending too
+                try {
+                    readRecords(); // another program may have stored it since
+                    if(index.containsKey(key)){
+                        return;
+                    }
+                    long offset = indexed;
+                    while(record.hasRemaining()){
+                        channel.write(record, offset + record.position());
+                    }
+                    index.put(key, new Location(offset, record.limit()));
+                    indexed = offset + record.limit();
+                } finally {
+                    lock.release();
+                }
+            } catch(IOException failed){
+                throw new UncheckedIOException("Can't write solution store " + file, failed);
+            }
+        }
+    }
+
+    /**
+     * Size accessor
+     *
+     * @return int the number of solutions in the index, those this program has read or stored
+     */
+    public int size(){
+        synchronized(index){
+            return index.size();
+        }
+    }
+
+    /**
+     * Checks the file starts with the magic number and version of a store
+     *
+     * @throws IOException if the file can't be read or is not a store of this version
+     */
+    private void checkHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if(header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION){
+            throw new IOException(file + " is not a version " + VERSION + " solution store");
+        }
+    }
+
+    /**
+     * Reads the records past the indexed part of the file into the index,
+     * and cuts off a record left half written by a program that stopped
+     * while appending it. Only called holding the file lock, so no other
+     * program is in the middle of appending.
+     *
+     * @throws IOException if the file can't be read
+     */
+    private void readRecords() throws IOException {
+        long size = channel.size();
+        long offset = indexed;
+        ByteBuffer fixed = ByteBuffer.allocate(RECORD_BYTES);
+        while(offset + RECORD_BYTES <= size){
+            fixed.clear();
+            while(fixed.hasRemaining() && channel.read(fixed, offset + fixed.position()) >= 0){
+                // reads until the fixed part of the record is in
+            }
+            int length = RECORD_BYTES + fixed.getInt(RECORD_BYTES - Integer.BYTES);
+            if(length < RECORD_BYTES || offset + length > size){
+                break;
+            }
+            byte[] fingerprint = new byte[FINGERPRINT_BYTES];
+            fixed.get(0, fingerprint);
+            index.putIfAbsent(ByteBuffer.wrap(fingerprint), new Location(offset, length));
+            offset += length;
+        }
+        if(offset < size){
+            channel.truncate(offset);
+        }
+        indexed = offset;
+    }
+
+    /**
+     * Makes the fingerprint of a start
+     *
+     * @param start the initial configuration of the puzzle
+     * @return byte[] the first FINGERPRINT_BYTES of the SHA-256 hash of its class and description
+     */
+    private static byte[] fingerprint(StorableConfiguration start){
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch(NoSuchAlgorithmException missing){ // every JVM has SHA-256
+            throw new IllegalStateException(missing);
+        }
+        digest.update(start.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(start.describe().getBytes(StandardCharsets.UTF_8));
+        byte[] fingerprint = new byte[FINGERPRINT_BYTES];
+        System.arraycopy(digest.digest(), 0, fingerprint, 0, FINGERPRINT_BYTES);
+        return fingerprint;
+    }
+
+    /**
+     * Writes the moves of a path, each as the position of the next
+     * configuration among the neighbors of the one before, seven bits to a
+     * byte with the high bit set on every byte but the last of a move
+     *
+     * @param path the configurations that lead to the solution in order, empty if there is none
+     * @return byte[] the moves of the path
+     */
+    private static byte[] moves(List<Configuration> path){
+        ByteBuffer moves = ByteBuffer.allocate(Math.max(0, path.size() - 1) * 5);
+        for(int i = 0; i + 1 < path.size(); i++){
+            Configuration next = path.get(i + 1);
+            int[] position = {0, -1};
+            path.get(i).forEachNeighbor(neighbor -> {
+                if(position[1] < 0 && neighbor.equals(next)){
+                    position[1] = position[0];
+                }
+                position[0]++;
+            });
+            if(position[1] < 0){
+                throw new IllegalArgumentException("Step " + (i + 1) + " of the path is not a neighbor of the one before");
+            }
+            int move = position[1];
+            while(move >= 0x80){
+                moves.put((byte) (move & 0x7F | 0x80));
+                move >>>= 7;
+            }
+            moves.put((byte) move);
+        }
+        byte[] written = new byte[moves.position()];
+        moves.flip().get(written);
+        return written;
+    }
+
+    /**
+     * Rebuilds a path by making the neighbors of each step and taking the
+     * one each move points to
+     *
+     * @param start the first configuration of the path
+     * @param size the number of configurations on the path, 0 if there is no solution
+     * @param moves the moves of the path, at their first byte
+     * @return List<Configuration> the path, null if a move points past the neighbors or the end isn't a solution
+     */
+    private static List<Configuration> replay(Configuration start, int size, ByteBuffer moves){
+        List<Configuration> path = new ArrayList<>(size);
+        if(size == 0){
+            return path;
+        }
+        path.add(start);
+        Configuration[] next = new Configuration[1];
+        for(int i = 1; i < size; i++){
+            int move = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = moves.get();
+                move |= (b & 0x7F) << shift;
+                shift += 7;
+            } while(b < 0);
+            int[] position = {0};
+            int wanted = move;
+            next[0] = null;
+            path.get(i - 1).forEachNeighbor(neighbor -> {
+                if(position[0]++ == wanted){
+                    next[0] = neighbor;
+                }
+            });
+            if(next[0] == null){
+                return null;
+            }
+            path.add(next[0]);
+        }
+        return path.get(size - 1).isSolution() ? path : null;
+    }
+
+    /**
+     * Where a record is in the file.
+     */
+    private static class Location {
+        /** the position of the record's first byte */
+        private final long offset;
+        /** the number of bytes in the record */
+        private final int length;
+
+        /**
+         * Constructor for a location
+         *
+         * @param offset the position of the record's first byte
+         * @param length the number of bytes in the record
+         */
+        private Location(long offset, int length){
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
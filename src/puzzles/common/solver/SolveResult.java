@@ -0,0 +1,107 @@
+package puzzles.common.solver;
+
+import java.util.List;
+
+/**
+ * The outcome of a single solve: the path found and the counts of how
+ * much work it took. Results never change once made, so they can be
+ * handed between threads freely.
+ *
+ * @author Patricio Solis
+ */
+public class SolveResult {
+
+    /** the configurations that lead to the solution in order, empty if there is none */
+    private final SolutionPath path;
+    /** the total number of configurations made */
+    private final int totalCount;
+    /** the number of unique configurations visited */
+    private final int uniqueCount;
+    /** the most configurations waiting to be tested at once */
+    private final int peakFrontier;
+    /** how long the solve took in nanoseconds */
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for a solve result
+     *
+     * @param path the configurations that lead to the solution in order, empty if there is none
+     * @param totalCount the total number of configurations made
+     * @param uniqueCount the number of unique configurations visited
+     * @param peakFrontier the most configurations waiting to be tested at once
+     * @param elapsedNanos how long the solve took in nanoseconds
+     */
+    public SolveResult(List<Configuration> path, int totalCount, int uniqueCount, int peakFrontier,
+                       long elapsedNanos){
+        this.path = SolutionPath.of(path);
+        this.totalCount = totalCount;
+        this.uniqueCount = uniqueCount;
+        this.peakFrontier = peakFrontier;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Path accessor
+     *
+     * @return SolutionPath the configurations that lead to the solution in order, empty if there is none
+     */
+    public SolutionPath getPath() {
+        return path;
+    }
+
+    /**
+     * Checks if a solution was found
+     *
+     * @return boolean true if the path leads to a solution, false otherwise
+     */
+    public boolean isSolved() {
+        return !path.isEmpty();
+    }
+
+    /**
+     * Total Count accessor
+     *
+     * @return Count of total configurations created
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Unique Count accessor
+     *
+     * @return Count of unique configurations created
+     */
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    /**
+     * Peak Frontier accessor
+     *
+     * @return the most configurations waiting to be tested at once
+     */
+    public int getPeakFrontier() {
+        return peakFrontier;
+    }
+
+    /**
+     * Elapsed Time accessor
+     *
+     * @return how long the solve took in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns a string representation of the counts, suitable for printing out.
+     *
+     * @return the string representation
+     */
+    @Override
+    public String toString() {
+        return "SolveResult[steps=" + path.moves() + ", total=" + totalCount + ", unique="
+                + uniqueCount + ", peakFrontier=" + peakFrontier + ", elapsed=" + elapsedNanos + "ns]";
+    }
+}
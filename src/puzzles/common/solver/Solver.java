@@ -1,27 +1,139 @@
 package puzzles.common.solver;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * The main Solver class
+ * The main Solver class. A Solver keeps nothing between solves, every
+ * search works only on its own local state and hands back a SolveResult,
+ * so one Solver can be used by many threads at the same time. The static
+ * methods are kept for the command line programs and record the counts of
+ * the last solve they ran.
+ *
+ * A Solver made to keep its configurations off the heap runs BFS on
+ * configurations that can be encoded through an OffHeapStateTable instead
+ * of a HashMap. It is picked with the solver.offHeap system property or
+ * the constructor.
+ *
+ * A Solver given a SolutionStore looks a start up in the store before
+ * searching with BFS and saves what it finds there. Solvers made without
+ * arguments use the store named by the solver.store system property.
  *
  * @author Patricio Solis
  */
 public class Solver {
 
-    private static int uniqueCount;
-    private static int totalCount;
+    /** the system property that makes new Solvers keep configurations off the heap */
+    public static final String OFF_HEAP_PROPERTY = "solver.offHeap";
+
+    private static volatile int uniqueCount;
+    private static volatile int totalCount;
+
+    /** true if BFS keeps the configurations it has seen in an OffHeapStateTable when it can */
+    private final boolean offHeap;
+    /** where BFS solutions are looked up first and saved, null to always search */
+    private final SolutionStore store;
+
+    /**
+     * Constructor for a Solver that keeps configurations off the heap if
+     * the solver.offHeap system property is true, and uses the solution
+     * store named by the solver.store system property if it is set
+     */
+    public Solver(){
+        this(Boolean.getBoolean(OFF_HEAP_PROPERTY), SolutionStore.fromProperty());
+    }
+
+    /**
+     * Constructor for a Solver that always searches
+     *
+     * @param offHeap true if BFS should keep the configurations it has seen outside
+     *                the heap when they can be encoded, false to keep them in a HashMap
+     */
+    public Solver(boolean offHeap){
+        this(offHeap, null);
+    }
+
+    /**
+     * Constructor for a Solver
+     *
+     * @param offHeap true if BFS should keep the configurations it has seen outside
+     *                the heap when they can be encoded, false to keep them in a HashMap
+     * @param store where BFS solutions are looked up first and saved, null to always search
+     */
+    public Solver(boolean offHeap, SolutionStore store){
+        this.offHeap = offHeap;
+        this.store = store;
+    }
 
     /**
      * Solves the puzzle given an initial configuration using BFS
      *
      * @param start initial configuration of puzzle
-     * @return ArrayList<Configuration> the list of configurations that lead to the solution in order
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
      */
-    public static ArrayList<Configuration> solver(Configuration start){
+    public SolveResult solve(Configuration start){
+        return solve(start, SolverListener.NONE);
+    }
+
+    /**
+     * Solves the puzzle given an initial configuration using BFS, reporting
+     * progress to a listener that can cancel the solve. A MetricsListener
+     * also hears about every configuration expanded and every depth reached.
+     * A solve found in the store is only started and finished for it.
+     *
+     * @param start initial configuration of puzzle
+     * @param listener hears the progress of the search and can cancel it
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     * @throws CancellationException if the listener cancels the solve
+     */
+    public SolveResult solve(Configuration start, SolverListener listener){
+        if(store != null && start instanceof StorableConfiguration storable){
+            SolveResult stored = store.find(storable);
+            if(stored != null){
+                if(listener instanceof MetricsListener metrics){ // counted as a solve that expanded nothing
+                    metrics.started();
+                    metrics.finished(stored);
+                }
+                return stored;
+            }
+            SolveResult result = search(start, listener);
+            store.add(storable, result);
+            return result;
+        }
+        return search(start, listener);
+    }
+
+    /**
+     * Solves the puzzle given an initial configuration using BFS, without
+     * looking in the store
+     *
+     * @param start initial configuration of puzzle
+     * @param listener hears the progress of the search and can cancel it
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     * @throws CancellationException if the listener cancels the solve
+     */
+    private SolveResult search(Configuration start, SolverListener listener){
+        if(offHeap && start instanceof EncodableConfiguration encodable){
+            return solveOffHeap(encodable, listener);
+        }
+        long startTime = System.nanoTime();
 
         HashMap<Configuration, Configuration> predecessor = new HashMap<>(); // creates predecessor map
         predecessor.put(start, null); // puts initial configuration as the start of map
@@ -29,36 +141,757 @@ public class Solver {
         Queue<Configuration> queue = new LinkedList<>(); //queue for configurations to be tested
         queue.add(start); // initial configuration first one to be tested
 
+        MetricsListener metrics = listener instanceof MetricsListener heard ? heard : null; // only timed if heard
+        if(metrics != null){
+            metrics.started();
+        }
         int totalConfig = 1; // counts the total number of configurations made
+        int peakFrontier = 1; // the longest the queue has been
+        int expanded = 0; // counts the configurations expanded
+        int depth = 0; // the depth being expanded
+        int depthLeft = 1; // the configurations left to expand at that depth
+        Expansion expansion = new Expansion(predecessor, queue); // takes the neighbors of every configuration
+        while(!queue.isEmpty() && !queue.peek().isSolution()){ // loops until no more configurations or solution is found
+            Configuration currConfig = queue.remove();
+            if(++expanded % SolverListener.REPORT_INTERVAL == 0){
+                report(listener, expanded, queue.size());
+            }
+            if(metrics == null){ // neighbors go straight into the map without being collected
+                expansion.expand(currConfig);
+                totalConfig += expansion.neighbors;
+            } else { // neighbors are collected first so making them can be timed apart from looking them up
+                long made = System.nanoTime();
+                Collection<Configuration> neighbors = currConfig.getNeighbors();
+                long looked = System.nanoTime();
+                expansion.current = currConfig;
+                expansion.neighbors = 0;
+                expansion.duplicates = 0;
+                neighbors.forEach(expansion);
+                totalConfig += expansion.neighbors;
+                metrics.expanded(expansion.neighbors, expansion.duplicates, looked - made, System.nanoTime() - looked);
+            }
+            peakFrontier = Math.max(peakFrontier, queue.size());
+            if(metrics != null){
+                if(--depthLeft == 0){ // the queue now holds exactly the next depth
+                    depthLeft = queue.size();
+                    metrics.depth(++depth, depthLeft, predecessor.size());
+                }
+            }
+        }
+        SolutionPath path = queue.isEmpty() ? SolutionPath.EMPTY : SolutionPath.walkBack(queue.peek(), predecessor::get);
+        SolveResult result = new SolveResult(path, totalConfig, predecessor.size(), peakFrontier,
+                System.nanoTime() - startTime);
+        if(metrics != null){
+            metrics.finished(result);
+        }
+        return result;
+    }
+
+    /**
+     * Solves the puzzle using BFS with every configuration seen kept encoded
+     * in an OffHeapStateTable. The entries are added in the order they are
+     * queued, so the queue is just the entries past the one being expanded,
+     * and the path found is the same one solve() finds with a HashMap.
+     *
+     * @param start initial configuration of puzzle
+     * @param listener hears the progress of the search and can cancel it
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     * @throws CancellationException if the listener cancels the solve
+     */
+    public SolveResult solveOffHeap(EncodableConfiguration start, SolverListener listener){
+        long startTime = System.nanoTime();
+        int width = start.getEncodedWidth();
+
+        OffHeapStateTable seen = new OffHeapStateTable(width, 1024); // encoded configuration to the one before it
+        ByteBuffer state = ByteBuffer.allocate(width); // the configuration being encoded or decoded
+        start.encode(state);
+        seen.addIfAbsent(state.array(), OffHeapStateTable.NO_PARENT);
+
+        MetricsListener metrics = listener instanceof MetricsListener heard ? heard : null; // only timed if heard
+        if(metrics != null){
+            metrics.started();
+        }
+        int totalConfig = 1; // counts the total number of configurations made
+        int peakFrontier = 1; // the longest the queue has been
+        int found = -1; // the entry of the solution
+        int depth = 0; // the depth being expanded
+        int depthLeft = 1; // the configurations left to expand at that depth
+        OffHeapExpansion expansion = new OffHeapExpansion(seen, width); // takes the neighbors of every configuration
+        for(int head = 0; head < seen.size(); head++){ // entries past the head are the queue
+            seen.get(head, state.array());
+            state.clear();
+            EncodableConfiguration currConfig = start.decode(state);
+            if(currConfig.isSolution()){
+                found = head;
+                break;
+            }
+            if((head + 1) % SolverListener.REPORT_INTERVAL == 0){
+                report(listener, head + 1, seen.size() - head - 1);
+            }
+            if(metrics == null){ // neighbors are encoded straight into the table without being collected
+                expansion.expand(currConfig, head);
+                totalConfig += expansion.neighbors;
+            } else { // neighbors are collected first so making them can be timed apart from looking them up
+                long made = System.nanoTime();
+                Collection<Configuration> neighbors = currConfig.getNeighbors();
+                long looked = System.nanoTime();
+                expansion.parent = head;
+                expansion.neighbors = 0;
+                expansion.duplicates = 0;
+                neighbors.forEach(expansion);
+                totalConfig += expansion.neighbors;
+                metrics.expanded(expansion.neighbors, expansion.duplicates, looked - made, System.nanoTime() - looked);
+            }
+            peakFrontier = Math.max(peakFrontier, seen.size() - head - 1);
+            if(metrics != null){
+                if(--depthLeft == 0){ // the entries past the head are now exactly the next depth
+                    depthLeft = seen.size() - head - 1;
+                    metrics.depth(++depth, depthLeft, seen.size());
+                }
+            }
+        }
+
+        SolutionPath path = SolutionPath.EMPTY;
+        if(found >= 0){ // decodes the path now so the table can be freed
+            int length = 0;
+            for(int entry = found; entry != OffHeapStateTable.NO_PARENT; entry = seen.getParent(entry)){
+                length += 1;
+            }
+            Configuration[] steps = new Configuration[length];
+            for(int entry = found; entry != OffHeapStateTable.NO_PARENT; entry = seen.getParent(entry)){
+                seen.get(entry, state.array());
+                state.clear();
+                steps[--length] = start.decode(state);
+            }
+            path = new SolutionPath(steps.length, step -> steps[step]);
+        }
+        SolveResult result = new SolveResult(path, totalConfig, seen.size(), peakFrontier,
+                System.nanoTime() - startTime);
+        if(metrics != null){
+            metrics.finished(result);
+        }
+        return result;
+    }
+
+    /**
+     * Solves the puzzle using BFS where configurations that are mirrors or
+     * turns of each other share one entry in the predecessor map, so each
+     * of them is only tested once. The map is keyed by canonical form and
+     * holds the configuration that was expanded to reach the first one
+     * found, and only that first one is queued, so walking back through
+     * the map gives the moves in the orientation of the initial configuration.
+     *
+     * @param start initial configuration of puzzle
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     */
+    public SolveResult solveSymmetric(SymmetricConfiguration start){
+        long startTime = System.nanoTime();
+
+        HashMap<Configuration, Configuration> predecessor = new HashMap<>(); // canonical form to configuration before it
+        predecessor.put(start.canonical(), null);
+
+        Queue<Configuration> queue = new LinkedList<>(); //queue for configurations to be tested
+        queue.add(start);
+
+        int totalConfig = 1; // counts the total number of configurations made
+        int peakFrontier = 1; // the longest the queue has been
         while(!queue.isEmpty() && !queue.peek().isSolution()){ // loops until no more configurations or solution is found
             Configuration currConfig = queue.remove();
             for(Configuration neighbor : currConfig.getNeighbors()){
                 totalConfig += 1;
-                if(!predecessor.containsKey(neighbor)){ // checks if configuration is unique or not
-                    predecessor.put(neighbor, currConfig); // adds configuration to map if unique
+                Configuration key = ((SymmetricConfiguration) neighbor).canonical();
+                if(!predecessor.containsKey(key)){ // checks if no symmetry of the configuration was seen
+                    predecessor.put(key, currConfig);
                     queue.add(neighbor);
                 }
             }
+            peakFrontier = Math.max(peakFrontier, queue.size());
         }
-        totalCount = totalConfig;
-        uniqueCount = predecessor.size();
-        if(queue.isEmpty()){ // if no solution is found then it returns an empty ArrayList
-            return new ArrayList<>();
-        } else { // if there is a solution it builds the list in reverse order
-            ArrayList<Configuration> path = new ArrayList<>();
-            path.add(0, queue.peek());
-            Configuration config = predecessor.get(queue.peek());
-            while(config != null){
-                path.add(0, config);
-                config = predecessor.get(config);
+        SolutionPath path = queue.isEmpty() ? SolutionPath.EMPTY : SolutionPath.walkBack(queue.peek(),
+                config -> predecessor.get(((SymmetricConfiguration) config).canonical()));
+        return new SolveResult(path, totalConfig, predecessor.size(), peakFrontier, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Solves the puzzle using BFS from both the initial configuration and the
+     * goal configuration at the same time. The smaller of the two frontiers is
+     * expanded one whole level at a time until a configuration is reached by
+     * both searches, which is where the shortest path meets.
+     *
+     * @param start initial configuration of puzzle
+     * @param goal the single solved configuration of the puzzle
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     */
+    public SolveResult solveBidirectional(ReversibleConfiguration start, ReversibleConfiguration goal){
+        long startTime = System.nanoTime();
+
+        HashMap<Configuration, Configuration> predecessor = new HashMap<>(); // configurations reached from the start
+        HashMap<Configuration, Configuration> successor = new HashMap<>(); // configurations that reach the goal
+        predecessor.put(start, null);
+        successor.put(goal, null);
+
+        List<Configuration> forward = new ArrayList<>(); // current level of the search from the start
+        List<Configuration> backward = new ArrayList<>(); // current level of the search from the goal
+        forward.add(start);
+        backward.add(goal);
+
+        int totalConfig = 2; // counts the total number of configurations made
+        int peakFrontier = 2; // the most configurations in both levels at once
+        Configuration meet = start.isSolution() ? start : null; // configuration where both searches meet
+        while(meet == null && !forward.isEmpty() && !backward.isEmpty()){
+            List<Configuration> next = new ArrayList<>();
+            if(forward.size() <= backward.size()){ // expands the smaller frontier
+                search:
+                for(Configuration currConfig : forward){
+                    for(Configuration neighbor : currConfig.getNeighbors()){
+                        totalConfig += 1;
+                        if(!predecessor.containsKey(neighbor)){
+                            predecessor.put(neighbor, currConfig);
+                            if(successor.containsKey(neighbor)){ // the search from the goal already got here
+                                meet = neighbor;
+                                break search;
+                            }
+                            next.add(neighbor);
+                        }
+                    }
+                }
+                forward = next;
+            } else {
+                search:
+                for(Configuration currConfig : backward){
+                    for(Configuration neighbor : ((ReversibleConfiguration) currConfig).getPredecessors()){
+                        totalConfig += 1;
+                        if(!successor.containsKey(neighbor)){
+                            successor.put(neighbor, currConfig);
+                            if(predecessor.containsKey(neighbor)){ // the search from the start already got here
+                                meet = neighbor;
+                                break search;
+                            }
+                            next.add(neighbor);
+                        }
+                    }
+                }
+                backward = next;
             }
-            return path;
+            peakFrontier = Math.max(peakFrontier, forward.size() + backward.size());
+        }
+        int uniqueConfig = predecessor.size() + successor.size() - (meet == null ? 0 : 1);
+        SolutionPath path = meet == null ? SolutionPath.EMPTY
+                : SolutionPath.through(meet, predecessor::get, successor::get); // the start half then the goal half
+        return new SolveResult(path, totalConfig, uniqueConfig, peakFrontier, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Solves the puzzle using BFS one level at a time, expanding every configuration
+     * of a level in parallel on the given pool. A configuration reached from many
+     * configurations of a level keeps the first one in level order as its predecessor,
+     * and the next level is put in the order solve() would queue it, so the path is the
+     * one solve() finds. The level holding the solution is only expanded up to its first
+     * solution, as solve() does, so the total and unique counts match solve() exactly.
+     *
+     * @param start initial configuration of puzzle
+     * @param pool the fork-join pool the levels are expanded on
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     */
+    public SolveResult solveParallel(Configuration start, ForkJoinPool pool){
+        long startTime = System.nanoTime();
+
+        // creates predecessor map, the start is its own predecessor since the map can't hold null
+        ConcurrentHashMap<Configuration, Configuration> predecessor = new ConcurrentHashMap<>();
+        predecessor.put(start, start);
+
+        List<Configuration> level = List.of(start); // configurations to be tested at the current depth
+        LongAdder totalConfig = new LongAdder(); // counts the total number of configurations made
+        totalConfig.increment();
+        int peakFrontier = 1; // the largest level
+        Configuration solution = null;
+        while(!level.isEmpty()){ // loops until no more configurations or solution is found
+            List<Configuration> currLevel = level;
+            peakFrontier = Math.max(peakFrontier, currLevel.size());
+            // the first solution in level order is the one solve() takes off its queue first
+            int first = pool.submit(() -> IntStream.range(0, currLevel.size()).parallel()
+                    .filter(i -> currLevel.get(i).isSolution())
+                    .findFirst()).join().orElse(-1);
+            // solve() expands the configurations queued before a solution and stops at it
+            level = expandLevel(currLevel, first < 0 ? currLevel.size() : first, predecessor, totalConfig, pool);
+            if(first >= 0){
+                solution = currLevel.get(first);
+                break;
+            }
+        }
+        SolutionPath path = solution == null ? SolutionPath.EMPTY
+                : SolutionPath.walkBack(solution, config -> config == start ? null : predecessor.get(config));
+        return new SolveResult(path, totalConfig.intValue(), predecessor.size(), peakFrontier,
+                System.nanoTime() - startTime);
+    }
+
+    /**
+     * Expands the first configurations of a level in parallel and makes the next
+     * level. Each new configuration is claimed by the smallest position of the
+     * configuration it was made from and of it among that one's neighbors, which
+     * is the order solve() queues configurations in, and the next level is sorted
+     * by that position.
+     *
+     * @param level the configurations of the level, all in the predecessor map
+     * @param count the number of configurations at the start of the level to expand
+     * @param predecessor the configurations seen so far and the one before each, the new ones are added
+     * @param totalConfig counts every neighbor made
+     * @param pool the fork-join pool the level is expanded on
+     * @return List<Configuration> the configurations first seen from the ones expanded, in queue order
+     */
+    private static List<Configuration> expandLevel(List<Configuration> level, int count,
+                                                   ConcurrentHashMap<Configuration, Configuration> predecessor,
+                                                   LongAdder totalConfig, ForkJoinPool pool){
+        ConcurrentHashMap<Configuration, Long> claims = new ConcurrentHashMap<>();
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(i -> {
+            int[] made = {0};
+            level.get(i).forEachNeighbor(neighbor -> {
+                long position = ((long) i << Integer.SIZE) | made[0]++;
+                if(!predecessor.containsKey(neighbor)){ // the map only changes between levels
+                    claims.merge(neighbor, position, Math::min);
+                }
+            });
+            totalConfig.add(made[0]);
+        })).join();
+        List<Map.Entry<Configuration, Long>> claimed = pool.submit(() -> claims.entrySet().parallelStream()
+                .sorted(Map.Entry.comparingByValue())
+                .collect(Collectors.toList())).join();
+        List<Configuration> next = new ArrayList<>(claimed.size());
+        for(Map.Entry<Configuration, Long> claim : claimed){
+            predecessor.put(claim.getKey(), level.get((int) (claim.getValue() >>> Integer.SIZE)));
+            next.add(claim.getKey());
+        }
+        return next;
+    }
+
+    /**
+     * Solves the puzzle using A* search. Configurations are expanded in order of
+     * the moves made so far plus the heuristic estimate of the moves left, so
+     * the first solution taken off the queue is a shortest one.
+     *
+     * @param start initial configuration of puzzle
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     */
+    public SolveResult solveAStar(HeuristicConfiguration start){
+        return solveAStar(start, Solver::heuristic);
+    }
+
+    /**
+     * Solves the puzzle using A* search with the given heuristic in place of
+     * the configurations' own, such as one backed by a pattern database
+     *
+     * @param start initial configuration of puzzle
+     * @param heuristic estimates the moves left from a configuration, never more than the real number
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     */
+    public SolveResult solveAStar(Configuration start, ToIntFunction<Configuration> heuristic){
+        long startTime = System.nanoTime();
+
+        HashMap<Configuration, Configuration> predecessor = new HashMap<>(); // creates predecessor map
+        HashMap<Configuration, Integer> moves = new HashMap<>(); // fewest moves found to each configuration
+        predecessor.put(start, null);
+        moves.put(start, 0);
+
+        PriorityQueue<Node> queue = new PriorityQueue<>(Node.ORDER); // configurations to be tested, best first
+        queue.add(new Node(start, 0, heuristic.applyAsInt(start)));
+
+        int totalConfig = 1; // counts the total number of configurations made
+        int peakFrontier = 1; // the longest the queue has been
+        Configuration solution = null;
+        while(!queue.isEmpty() && solution == null){
+            Node curr = queue.remove();
+            if(curr.moves > moves.get(curr.config)){ // a shorter way here was found after this was queued
+                continue;
+            }
+            if(curr.config.isSolution()){
+                solution = curr.config;
+                continue;
+            }
+            for(Configuration neighbor : curr.config.getNeighbors()){
+                totalConfig += 1;
+                Integer known = moves.get(neighbor);
+                if(known == null || curr.moves + 1 < known){ // checks if configuration is new or now reached sooner
+                    predecessor.put(neighbor, curr.config);
+                    moves.put(neighbor, curr.moves + 1);
+                    queue.add(new Node(neighbor, curr.moves + 1, heuristic.applyAsInt(neighbor)));
+                }
+            }
+            peakFrontier = Math.max(peakFrontier, queue.size());
+        }
+        SolutionPath path = solution == null ? SolutionPath.EMPTY : SolutionPath.walkBack(solution, predecessor::get);
+        return new SolveResult(path, totalConfig, predecessor.size(), peakFrontier, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Solves the puzzle using iterative deepening A* search. Each pass is a depth
+     * first search that gives up on a configuration once the moves made plus its
+     * heuristic estimate go over the bound, and the bound is raised to the smallest
+     * estimate that went over it until a solution is found. Only the current path
+     * is kept in memory, so the unique count is the number of configurations expanded
+     * and the peak frontier is the longest path tried.
+     * A puzzle without a solution is only given up on once every path has been tried.
+     *
+     * @param start initial configuration of puzzle
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     */
+    public SolveResult solveIdaStar(HeuristicConfiguration start){
+        return solveIdaStar(start, Solver::heuristic);
+    }
+
+    /**
+     * Solves the puzzle using iterative deepening A* search with the given
+     * heuristic in place of the configurations' own, such as one backed by
+     * a pattern database
+     *
+     * @param start initial configuration of puzzle
+     * @param heuristic estimates the moves left from a configuration, never more than the real number
+     * @return SolveResult the configurations that lead to the solution in order and the counts of the search
+     */
+    public SolveResult solveIdaStar(Configuration start, ToIntFunction<Configuration> heuristic){
+        long startTime = System.nanoTime();
+        IdaSearch search = new IdaSearch(start, heuristic);
+        int bound = heuristic.applyAsInt(start);
+        while(bound != IdaSearch.FOUND && bound != Integer.MAX_VALUE){ // loops until solved or nothing is left under any bound
+            bound = search.search(0, bound);
+        }
+        SolutionPath path = bound == IdaSearch.FOUND ? SolutionPath.of(search.path) : SolutionPath.EMPTY;
+        return new SolveResult(path, search.totalConfig, search.expanded, search.deepest, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Solves the puzzle given an initial configuration using BFS
+     *
+     * @param start initial configuration of puzzle
+     * @return ArrayList<Configuration> the list of configurations that lead to the solution in order
+     * @see #solve(Configuration)
+     */
+    public static ArrayList<Configuration> solver(Configuration start){
+        return record(new Solver().solve(start));
+    }
+
+    /**
+     * Solves the puzzle using BFS that tests only one of each set of symmetric configurations
+     *
+     * @param start initial configuration of puzzle
+     * @return ArrayList<Configuration> the list of configurations that lead to the solution in order
+     * @see #solveSymmetric(SymmetricConfiguration)
+     */
+    public static ArrayList<Configuration> symmetricSolver(SymmetricConfiguration start){
+        return record(new Solver().solveSymmetric(start));
+    }
+
+    /**
+     * Solves the puzzle using BFS from both the initial configuration and the goal
+     *
+     * @param start initial configuration of puzzle
+     * @param goal the single solved configuration of the puzzle
+     * @return ArrayList<Configuration> the list of configurations that lead to the solution in order
+     * @see #solveBidirectional(ReversibleConfiguration, ReversibleConfiguration)
+     */
+    public static ArrayList<Configuration> bidirectionalSolver(ReversibleConfiguration start,
+                                                              ReversibleConfiguration goal){
+        return record(new Solver().solveBidirectional(start, goal));
+    }
+
+    /**
+     * Solves the puzzle using BFS with each level expanded in parallel on the
+     * common fork-join pool.
+     *
+     * @param start initial configuration of puzzle
+     * @return ArrayList<Configuration> the list of configurations that lead to the solution in order
+     * @see #solveParallel(Configuration, ForkJoinPool)
+     */
+    public static ArrayList<Configuration> parallelSolver(Configuration start){
+        return parallelSolver(start, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Solves the puzzle using BFS with each level expanded in parallel on the given pool
+     *
+     * @param start initial configuration of puzzle
+     * @param pool the fork-join pool the levels are expanded on
+     * @return ArrayList<Configuration> the list of configurations that lead to the solution in order
+     * @see #solveParallel(Configuration, ForkJoinPool)
+     */
+    public static ArrayList<Configuration> parallelSolver(Configuration start, ForkJoinPool pool){
+        return record(new Solver().solveParallel(start, pool));
+    }
+
+    /**
+     * Solves the puzzle using A* search
+     *
+     * @param start initial configuration of puzzle
+     * @return ArrayList<Configuration> the list of configurations that lead to the solution in order
+     * @see #solveAStar(HeuristicConfiguration)
+     */
+    public static ArrayList<Configuration> aStarSolver(HeuristicConfiguration start){
+        return record(new Solver().solveAStar(start));
+    }
+
+    /**
+     * Solves the puzzle using iterative deepening A* search
+     *
+     * @param start initial configuration of puzzle
+     * @return ArrayList<Configuration> the list of configurations that lead to the solution in order
+     * @see #solveIdaStar(HeuristicConfiguration)
+     */
+    public static ArrayList<Configuration> idaStarSolver(HeuristicConfiguration start){
+        return record(new Solver().solveIdaStar(start));
+    }
+
+    /**
+     * Gives the heuristic estimate a configuration makes of itself
+     *
+     * @param config a configuration that is a HeuristicConfiguration
+     * @return int the configuration's estimate of the moves left
+     */
+    private static int heuristic(Configuration config){
+        return ((HeuristicConfiguration) config).heuristic();
+    }
+
+    /**
+     * Reports progress to a listener and stops the solve if it was cancelled
+     *
+     * @param listener hears the progress of the search and can cancel it
+     * @param expanded the number of configurations expanded so far
+     * @param frontier the number of configurations waiting to be tested
+     * @throws CancellationException if the listener cancels the solve
+     */
+    private static void report(SolverListener listener, int expanded, int frontier){
+        if(listener.isCancelled()){
+            throw new CancellationException("Solve cancelled after " + expanded + " configurations");
+        }
+        listener.progress(expanded, frontier);
+    }
+
+    /**
+     * Records the counts of a solve for the count accessors
+     *
+     * @param result the result of the solve
+     * @return ArrayList<Configuration> a copy of the path of the result
+     */
+    private static ArrayList<Configuration> record(SolveResult result){
+        totalCount = result.getTotalCount();
+        uniqueCount = result.getUniqueCount();
+        return new ArrayList<>(result.getPath());
+    }
+
+    /**
+     * Takes the neighbors of the configurations a BFS expands and queues the
+     * new ones. One is made per solve, so nothing is made per configuration
+     * besides the neighbors themselves.
+     */
+    private static class Expansion implements Consumer<Configuration> {
+        /** configuration to the configuration before it */
+        private final HashMap<Configuration, Configuration> predecessor;
+        /** configurations waiting to be tested */
+        private final Queue<Configuration> queue;
+        /** the configuration being expanded */
+        private Configuration current;
+        /** the number of neighbors of the current configuration so far */
+        private int neighbors;
+        /** the number of those that were already in the map */
+        private int duplicates;
+
+        /**
+         * Constructor for the sink of one BFS
+         *
+         * @param predecessor configuration to the configuration before it
+         * @param queue configurations waiting to be tested
+         */
+        private Expansion(HashMap<Configuration, Configuration> predecessor, Queue<Configuration> queue){
+            this.predecessor = predecessor;
+            this.queue = queue;
+        }
+
+        /**
+         * Expands a configuration, queueing every neighbor not seen before
+         *
+         * @param config the configuration to be expanded
+         */
+        private void expand(Configuration config){
+            current = config;
+            neighbors = 0;
+            duplicates = 0;
+            config.forEachNeighbor(this);
+        }
+
+        /**
+         * Takes one neighbor of the current configuration
+         *
+         * @param neighbor the neighbor
+         */
+        @Override
+        public void accept(Configuration neighbor){
+            neighbors += 1;
+            if(!predecessor.containsKey(neighbor)){ // the start maps to null, so putIfAbsent can't be used
+                predecessor.put(neighbor, current);
+                queue.add(neighbor);
+            } else {
+                duplicates += 1;
+            }
+        }
+    }
+
+    /**
+     * Takes the neighbors of the configurations an off heap BFS expands and
+     * adds them to its table. One is made per solve, so nothing is made per
+     * configuration besides the neighbors themselves.
+     */
+    private static class OffHeapExpansion implements Consumer<Configuration> {
+        /** encoded configuration to the entry before it */
+        private final OffHeapStateTable seen;
+        /** the neighbor being encoded */
+        private final ByteBuffer state;
+        /** the entry of the configuration being expanded */
+        private int parent;
+        /** the number of neighbors of the current configuration so far */
+        private int neighbors;
+        /** the number of those that were already in the table */
+        private int duplicates;
+
+        /**
+         * Constructor for the sink of one off heap BFS
+         *
+         * @param seen encoded configuration to the entry before it
+         * @param width the width of an encoded configuration
+         */
+        private OffHeapExpansion(OffHeapStateTable seen, int width){
+            this.seen = seen;
+            this.state = ByteBuffer.allocate(width);
+        }
+
+        /**
+         * Expands a configuration, adding every neighbor not seen before to the table
+         *
+         * @param config the configuration to be expanded
+         * @param entry the entry of the configuration in the table
+         */
+        private void expand(Configuration config, int entry){
+            parent = entry;
+            neighbors = 0;
+            duplicates = 0;
+            config.forEachNeighbor(this);
+        }
+
+        /**
+         * Takes one neighbor of the current configuration
+         *
+         * @param neighbor the neighbor
+         */
+        @Override
+        public void accept(Configuration neighbor){
+            neighbors += 1;
+            state.clear();
+            ((EncodableConfiguration) neighbor).encode(state);
+            if(seen.addIfAbsent(state.array(), parent) < 0){
+                duplicates += 1;
+            }
+        }
+    }
+
+    /**
+     * A configuration on the A* queue along with the moves made to reach it
+     * and its estimate of the moves left.
+     */
+    private static class Node {
+        /** orders nodes by estimated total moves, preferring the ones further along */
+        private static final Comparator<Node> ORDER = Comparator.<Node>comparingInt(node -> node.moves + node.estimate)
+                .thenComparingInt(node -> -node.moves);
+
+        /** the configuration reached */
+        private final Configuration config;
+        /** the number of moves made to reach the configuration */
+        private final int moves;
+        /** the heuristic estimate of the moves left */
+        private final int estimate;
+
+        /**
+         * Constructor for A* nodes
+         *
+         * @param config the configuration reached
+         * @param moves the number of moves made to reach the configuration
+         * @param estimate the heuristic estimate of the moves left
+         */
+        private Node(Configuration config, int moves, int estimate){
+            this.config = config;
+            this.moves = moves;
+            this.estimate = estimate;
+        }
+    }
+
+    /**
+     * The state of an iterative deepening A* search, the path being tried
+     * and the counts of configurations made along the way.
+     */
+    private static class IdaSearch {
+        /** returned by search when a solution is found */
+        private static final int FOUND = -1;
+
+        /** the configurations from the start to the one being tried */
+        private final ArrayList<Configuration> path = new ArrayList<>();
+        /** the configurations on the path, so the search never loops back onto itself */
+        private final HashSet<Configuration> onPath = new HashSet<>();
+        /** counts the total number of configurations made */
+        private int totalConfig = 1;
+        /** counts the number of configurations expanded */
+        private int expanded = 0;
+        /** the longest the path has been */
+        private int deepest = 1;
+        /** estimates the moves left from a configuration */
+        private final ToIntFunction<Configuration> heuristic;
+
+        /**
+         * Constructor for the search
+         *
+         * @param start initial configuration of puzzle
+         * @param heuristic estimates the moves left from a configuration
+         */
+        private IdaSearch(Configuration start, ToIntFunction<Configuration> heuristic){
+            this.heuristic = heuristic;
+            path.add(start);
+            onPath.add(start);
+        }
+
+        /**
+         * Searches depth first from the last configuration on the path
+         *
+         * @param moves the number of moves made to reach the last configuration
+         * @param bound the most total moves a configuration may be estimated at
+         * @return int FOUND if solved, otherwise the smallest estimate over the bound
+         */
+        private int search(int moves, int bound){
+            Configuration currConfig = path.get(path.size() - 1);
+            int estimate = moves + heuristic.applyAsInt(currConfig);
+            if(estimate > bound){
+                return estimate;
+            }
+            if(currConfig.isSolution()){
+                return FOUND;
+            }
+            expanded += 1;
+            deepest = Math.max(deepest, path.size());
+            int smallest = Integer.MAX_VALUE;
+            for(Configuration neighbor : currConfig.getNeighbors()){
+                totalConfig += 1;
+                if(onPath.add(neighbor)){
+                    path.add(neighbor);
+                    int next = search(moves + 1, bound);
+                    if(next == FOUND){
+                        return FOUND;
+                    }
+                    smallest = Math.min(smallest, next);
+                    path.remove(path.size() - 1);
+                    onPath.remove(neighbor);
+                }
+            }
+            return smallest;
         }
     }
 
     /**
      * Unique Count accessor
-     * @return Count of unique configurations created
+     * @return Count of unique configurations created by the last static solve
      */
     public static int getUniqueCount() {
         return uniqueCount;
@@ -66,10 +899,9 @@ public class Solver {
 
     /**
      * Total Count accessor
-     * @return Count of total configurations created
+     * @return Count of total configurations created by the last static solve
      */
     public static int getTotalCount() {
         return totalCount;
     }
 }
-
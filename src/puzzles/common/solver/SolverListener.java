@@ -0,0 +1,34 @@
+package puzzles.common.solver;
+
+/**
+ * Hears how far along a solve is and can ask for it to stop. A solve tells
+ * its listener how many configurations it has expanded every so often and
+ * checks whether it has been cancelled at the same time.
+ *
+ * @author Patricio Solis
+ */
+public interface SolverListener {
+
+    /** a listener that ignores progress and never cancels */
+    SolverListener NONE = (expanded, frontier) -> {};
+
+    /** the number of configurations expanded between progress reports */
+    int REPORT_INTERVAL = 4096;
+
+    /**
+     * Called by the solver every REPORT_INTERVAL expanded configurations
+     *
+     * @param expanded the number of configurations expanded so far
+     * @param frontier the number of configurations waiting to be tested
+     */
+    void progress(int expanded, int frontier);
+
+    /**
+     * Checks if the solve should stop, the solver then throws a CancellationException
+     *
+     * @return boolean true if the solve should stop, false otherwise
+     */
+    default boolean isCancelled(){
+        return false;
+    }
+}
@@ -0,0 +1,240 @@
+package puzzles.common.solver;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps count of what a solver does, to be passed to a solve as its
+ * listener and read while it runs, from the code or over JMX once
+ * registered. Counts add up over every solve it listens to, and can come
+ * from many solves at once. The rate, depths and allocation are of the
+ * latest solve started, so they only make sense with one solve at a time.
+ *
+ * @author Patricio Solis
+ */
+public class SolverMetrics implements MetricsListener, SolverMetricsMBean {
+
+    /** the JMX domain the metrics are registered under */
+    public static final String DOMAIN = "puzzles.solver";
+
+    /** measures the bytes allocated by a thread, null if the JVM can't */
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    /** the number of solves started */
+    private final LongAdder solves = new LongAdder();
+    /** the number of configurations expanded */
+    private final LongAdder expanded = new LongAdder();
+    /** the number of neighbors made */
+    private final LongAdder generated = new LongAdder();
+    /** the number of neighbors seen before */
+    private final LongAdder duplicates = new LongAdder();
+    /** the time spent in getNeighbors() */
+    private final LongAdder neighborNanos = new LongAdder();
+    /** the time spent hashing and looking up neighbors */
+    private final LongAdder lookupNanos = new LongAdder();
+    /** the most configurations a solve has seen at once */
+    private final AtomicInteger peakVisited = new AtomicInteger();
+
+    /** the configurations expanded by the latest solve */
+    private final LongAdder solveExpanded = new LongAdder();
+    /** the number of configurations at each depth of the latest solve */
+    private final List<Integer> frontiers = new ArrayList<>();
+    /** when the latest solve started */
+    private volatile long solveStart;
+    /** when the latest solve finished, 0 while it runs */
+    private volatile long solveEnd;
+    /** the bytes the latest solve's thread had allocated when it started */
+    private volatile long allocatedBefore;
+    /** the bytes the latest solve allocated, as of its last report */
+    private volatile long allocated = -1;
+
+    /**
+     * Constructor for metrics that haven't seen a solve yet
+     */
+    public SolverMetrics(){
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server so JMX clients can read them
+     *
+     * @param name the name the metrics are shown under
+     * @return ObjectName the name the metrics were registered as
+     * @throws JMException if the name is taken or can't be used
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName(DOMAIN + ":type=SolverMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public void started(){
+        solves.increment();
+        solveExpanded.reset();
+        synchronized(frontiers){
+            frontiers.clear();
+            frontiers.add(1);
+        }
+        allocatedBefore = THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+        allocated = THREADS != null ? 0 : -1;
+        solveEnd = 0;
+        solveStart = System.nanoTime();
+    }
+
+    @Override
+    public void expanded(int neighbors, int duplicates, long neighborNanos, long lookupNanos){
+        this.expanded.increment();
+        this.solveExpanded.increment();
+        this.generated.add(neighbors);
+        this.duplicates.add(duplicates);
+        this.neighborNanos.add(neighborNanos);
+        this.lookupNanos.add(lookupNanos);
+    }
+
+    @Override
+    public void depth(int depth, int frontier, int visited){
+        synchronized(frontiers){
+            frontiers.add(frontier);
+        }
+        peakVisited.accumulateAndGet(visited, Math::max);
+    }
+
+    /**
+     * Measures the allocation of the solve so far, on the solve's own thread
+     *
+     * @param expanded the number of configurations expanded so far
+     * @param frontier the number of configurations waiting to be tested
+     */
+    @Override
+    public void progress(int expanded, int frontier){
+        measureAllocation();
+    }
+
+    @Override
+    public void finished(SolveResult result){
+        measureAllocation();
+        peakVisited.accumulateAndGet(result.getUniqueCount(), Math::max);
+        solveEnd = System.nanoTime();
+    }
+
+    @Override
+    public long getSolves(){
+        return solves.sum();
+    }
+
+    @Override
+    public long getExpanded(){
+        return expanded.sum();
+    }
+
+    @Override
+    public long getGenerated(){
+        return generated.sum();
+    }
+
+    @Override
+    public long getDuplicates(){
+        return duplicates.sum();
+    }
+
+    @Override
+    public double getDuplicateRatio(){
+        long made = generated.sum();
+        return made == 0 ? 0 : (double) duplicates.sum() / made;
+    }
+
+    @Override
+    public double getExpandedPerSecond(){
+        long end = solveEnd != 0 ? solveEnd : System.nanoTime();
+        long nanos = end - solveStart;
+        return solveStart == 0 || nanos <= 0 ? 0 : solveExpanded.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public int getPeakVisited(){
+        return peakVisited.get();
+    }
+
+    @Override
+    public int[] getFrontierByDepth(){
+        synchronized(frontiers){
+            return frontiers.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    @Override
+    public long getNeighborNanos(){
+        return neighborNanos.sum();
+    }
+
+    @Override
+    public long getLookupNanos(){
+        return lookupNanos.sum();
+    }
+
+    @Override
+    public double getAllocatedBytesPerNode(){
+        long nodes = solveExpanded.sum();
+        long bytes = allocated;
+        return bytes < 0 ? -1 : (nodes == 0 ? 0 : (double) bytes / nodes);
+    }
+
+    @Override
+    public void reset(){
+        solves.reset();
+        expanded.reset();
+        generated.reset();
+        duplicates.reset();
+        neighborNanos.reset();
+        lookupNanos.reset();
+        peakVisited.set(0);
+        solveExpanded.reset();
+        synchronized(frontiers){
+            frontiers.clear();
+        }
+        solveStart = 0;
+        solveEnd = 0;
+        allocated = THREADS != null ? 0 : -1;
+    }
+
+    /**
+     * Shows the counts of the metrics
+     *
+     * @return String the counts, rate and ratio on one line
+     */
+    @Override
+    public String toString(){
+        return String.format("solves=%d expanded=%d generated=%d duplicates=%.1f%% rate=%.0f/s peakVisited=%d "
+                        + "neighbors=%.1fms lookups=%.1fms allocated=%.0fB/node depths=%d",
+                getSolves(), getExpanded(), getGenerated(), 100 * getDuplicateRatio(), getExpandedPerSecond(),
+                getPeakVisited(), getNeighborNanos() / 1e6, getLookupNanos() / 1e6, getAllocatedBytesPerNode(),
+                getFrontierByDepth().length);
+    }
+
+    /**
+     * Records the bytes the calling solve thread has allocated since the solve started
+     */
+    private void measureAllocation(){
+        if(THREADS != null){
+            allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+    }
+
+    /**
+     * Finds the bean that measures thread allocation
+     *
+     * @return com.sun.management.ThreadMXBean the bean, null if this JVM can't measure allocation
+     */
+    private static com.sun.management.ThreadMXBean allocationBean(){
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()){
+            return threads;
+        }
+        return null;
+    }
+}
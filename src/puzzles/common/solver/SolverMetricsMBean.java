@@ -0,0 +1,72 @@
+package puzzles.common.solver;
+
+/**
+ * The view of SolverMetrics shown over JMX. The counts are of every solve
+ * since the metrics were made or reset, the rates and depths are of the
+ * solve running now or the last one.
+ *
+ * @author Patricio Solis
+ */
+public interface SolverMetricsMBean {
+
+    /**
+     * @return long the number of solves started
+     */
+    long getSolves();
+
+    /**
+     * @return long the number of configurations expanded
+     */
+    long getExpanded();
+
+    /**
+     * @return long the number of neighbors made
+     */
+    long getGenerated();
+
+    /**
+     * @return long the number of neighbors that had been seen before
+     */
+    long getDuplicates();
+
+    /**
+     * @return double the share of neighbors that had been seen before, 0 before any were made
+     */
+    double getDuplicateRatio();
+
+    /**
+     * @return double the configurations expanded per second by the current or last solve
+     */
+    double getExpandedPerSecond();
+
+    /**
+     * @return int the most configurations any solve has seen at once
+     */
+    int getPeakVisited();
+
+    /**
+     * @return int[] the number of configurations at each depth of the current or last solve
+     */
+    int[] getFrontierByDepth();
+
+    /**
+     * @return long the total time spent in getNeighbors()
+     */
+    long getNeighborNanos();
+
+    /**
+     * @return long the total time spent hashing and looking up neighbors
+     */
+    long getLookupNanos();
+
+    /**
+     * @return double the bytes allocated per configuration expanded by the current or last solve,
+     * -1 if the JVM can't measure allocation
+     */
+    double getAllocatedBytesPerNode();
+
+    /**
+     * Sets every count back to zero
+     */
+    void reset();
+}
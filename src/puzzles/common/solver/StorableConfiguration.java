@@ -0,0 +1,20 @@
+package puzzles.common.solver;
+
+/**
+ * A configuration that can describe its whole puzzle as text, so the
+ * solution from it can be saved in a SolutionStore and found again by a
+ * later program that loads the same puzzle.
+ *
+ * @author Patricio Solis
+ */
+public interface StorableConfiguration extends Configuration {
+
+    /**
+     * Describes the puzzle and the state it is in. Two configurations of a
+     * puzzle give the same description exactly when they are equal and have
+     * the same goal, since the description is all a stored solution is found by.
+     *
+     * @return String everything the solution from this configuration depends on
+     */
+    String describe();
+}
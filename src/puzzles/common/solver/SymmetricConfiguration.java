@@ -0,0 +1,22 @@
+package puzzles.common.solver;
+
+/**
+ * A configuration of a puzzle whose board looks the same after being
+ * mirrored or turned. Configurations that are the same up to such a
+ * symmetry need the same number of moves to solve, so a search only has
+ * to visit one of them.
+ *
+ * @author Patricio Solis
+ */
+public interface SymmetricConfiguration extends Configuration {
+
+    /**
+     * Gives the one configuration picked to stand for this configuration
+     * and every configuration it can be mirrored or turned into. It is
+     * only used as a key, the configurations a search steps through keep
+     * their own orientation.
+     *
+     * @return Configuration the same configuration for every symmetry of this one
+     */
+    Configuration canonical();
+}
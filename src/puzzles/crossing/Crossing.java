@@ -1,10 +1,9 @@
 package puzzles.crossing;
 
 import puzzles.common.solver.Configuration;
-import puzzles.common.solver.Solver;
+import puzzles.common.solver.SolutionPrinter;
 
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The main Crossing class
@@ -29,17 +28,15 @@ public class Crossing {
             // initial configuration
             CrossingConfig initConfig = new CrossingConfig(pups, wolves);
 
-            // gets the configurations that lead to a solution in an ArrayList
-            ArrayList<Configuration> solution = Solver.solver(initConfig);
+            // gets the configurations that lead to a solution, worked out without searching
+            List<Configuration> solution = CrossingSolver.solve(initConfig).getPath();
 
             // checks for no solution
             if(solution.isEmpty()){
                 System.out.println("No solution found!");
             } else {
                 // Prints out configurations in order to get to solution in specified format
-                for(int i = 0; i < solution.size(); i++){
-                    System.out.println("Step " + i + ": " + solution.get(i).toString());
-                }
+                SolutionPrinter.print(solution, " ");
             }
         }
     }
@@ -1,16 +1,23 @@
 package puzzles.crossing;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.EncodableConfiguration;
+import puzzles.common.solver.HeuristicConfiguration;
+import puzzles.common.solver.ReversibleConfiguration;
+import puzzles.common.solver.StorableConfiguration;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Represents a single configuration in the Crossing puzzle.
  *
  * @author Patricio Solis
  */
-public class CrossingConfig implements Configuration {
+public class CrossingConfig implements ReversibleConfiguration, HeuristicConfiguration, EncodableConfiguration,
+        StorableConfiguration {
 
     /** the number of pups on the left side of the river */
     private int pupsLeft;
@@ -37,6 +44,23 @@ public class CrossingConfig implements Configuration {
         boatLeft = true;
     }
 
+    /**
+     * Constructor for a Crossing configuration at any point of the puzzle
+     *
+     * @param pups the total number of pups
+     * @param wolves the total number of wolves
+     * @param pupsLeft the number of pups on the left side
+     * @param wolvesLeft the number of wolves on the left side
+     * @param boatLeft true if the boat is on the left side, false otherwise
+     */
+    CrossingConfig(int pups, int wolves, int pupsLeft, int wolvesLeft, boolean boatLeft){
+        this.pupsLeft = pupsLeft;
+        this.wolvesLeft = wolvesLeft;
+        this.pupsRight = pups - pupsLeft;
+        this.wolvesRight = wolves - wolvesLeft;
+        this.boatLeft = boatLeft;
+    }
+
     /**
      * Copy constructor for Crossing configurations
      *
@@ -82,31 +106,162 @@ public class CrossingConfig implements Configuration {
      */
     @Override
     public Collection<Configuration> getNeighbors() {
-        ArrayList<Configuration> successors = new ArrayList<>();
+        ArrayList<Configuration> successors = new ArrayList<>(3);
+        forEachNeighbor(successors::add);
+        return successors;
+    }
 
+    /**
+     * Hands all the possible successors of current configuration to a sink
+     * without collecting them
+     *
+     * @param sink takes each successor
+     */
+    @Override
+    public void forEachNeighbor(Consumer<Configuration> sink) {
         // if boat is on the right the only possible CrossingConfig that could
         // lead to a solution is if one pup crosses
         if(!boatLeft){
             if(!(pupsRight - 1 < 0)) {
-                successors.add(new CrossingConfig(this, 1, 0));
+                sink.accept(new CrossingConfig(this, 1, 0));
             }
         } else {
             if(pupsLeft - 2 < 0){ // checks if there is enough pups to move two
-                successors.add(new CrossingConfig(this, 0, 1));
-                successors.add(new CrossingConfig(this, 1, 0));
+                sink.accept(new CrossingConfig(this, 0, 1));
+                sink.accept(new CrossingConfig(this, 1, 0));
             } else if(pupsLeft - 1 < 0){ //checks if there is enough pups to move one
-                successors.add(new CrossingConfig(this, 0, 1));
+                sink.accept(new CrossingConfig(this, 0, 1));
             } else if(wolvesLeft - 1 < 0){ //checks if there is any wolves to move
-                successors.add(new CrossingConfig(this, 1, 0));
-                successors.add(new CrossingConfig(this, 2, 0));
+                sink.accept(new CrossingConfig(this, 1, 0));
+                sink.accept(new CrossingConfig(this, 2, 0));
             } else {
-                successors.add(new CrossingConfig(this, 1, 0));
-                successors.add(new CrossingConfig(this, 2, 0));
-                successors.add(new CrossingConfig(this, 0, 1));
+                sink.accept(new CrossingConfig(this, 1, 0));
+                sink.accept(new CrossingConfig(this, 2, 0));
+                sink.accept(new CrossingConfig(this, 0, 1));
             }
         }
+    }
+
+    /**
+     * Estimates the moves left from the number of pups and wolves still on the left.
+     * The boat carries at most two across and has to bring a pup back every time
+     * except the last, so each round trip moves at most one more to the right.
+     *
+     * @return int the fewest crossings that could get everything to the right
+     */
+    @Override
+    public int heuristic() {
+        int left = pupsLeft + wolvesLeft;
+        if(left <= 0){
+            return 0;
+        } else if(!boatLeft){ // the boat comes back with a pup before anything else can cross
+            return 2 * left;
+        } else if(left == 1){
+            return 1;
+        }
+        return 2 * left - 3;
+    }
 
-        return successors;
+    /**
+     * Makes all the configurations that have the current one as a neighbor.
+     * If the boat is on the left a single pup just came back with it, otherwise
+     * the boat came over from the left with any crossing getNeighbors() allows.
+     *
+     * @return ArrayList<Configuration> that contains all possible predecessors
+     */
+    @Override
+    public Collection<Configuration> getPredecessors() {
+        ArrayList<Configuration> predecessors = new ArrayList<>();
+
+        if(boatLeft){
+            if(pupsLeft - 1 >= 0){ // sends the pup that came back over to the right again
+                predecessors.add(new CrossingConfig(this, 1, 0));
+            }
+        } else {
+            int[][] crossings = {{1, 0}, {2, 0}, {0, 1}};
+            for(int[] crossing : crossings){
+                // brings the crossing back to the left if it fits and getNeighbors() would have made it from there
+                if(pupsRight - crossing[0] >= 0 && wolvesRight - crossing[1] >= 0
+                        && canCross(pupsLeft + crossing[0], wolvesLeft + crossing[1], crossing[0], crossing[1])){
+                    predecessors.add(new CrossingConfig(this, crossing[0], crossing[1]));
+                }
+            }
+        }
+
+        return predecessors;
+    }
+
+    /**
+     * Checks if getNeighbors() makes the given crossing when the boat is on
+     * the left with the given number of pups and wolves on the left.
+     *
+     * @param pups the number of pups on the left side
+     * @param wolves the number of wolves on the left side
+     * @param movePups the number of pups crossing
+     * @param moveWolves the number of wolves crossing
+     * @return boolean true if the crossing is made, false otherwise
+     */
+    private static boolean canCross(int pups, int wolves, int movePups, int moveWolves){
+        if(pups - 2 < 0){
+            return movePups + moveWolves == 1;
+        } else if(wolves - 1 < 0){
+            return moveWolves == 0;
+        }
+        return true;
+    }
+
+    /**
+     * Makes the configuration where every pup and wolf is on the right side
+     * of the river along with the boat
+     *
+     * @return CrossingConfig the solved configuration
+     */
+    @Override
+    public CrossingConfig getGoal() {
+        CrossingConfig goal = new CrossingConfig(pupsLeft + pupsRight, wolvesLeft + wolvesRight);
+        goal.pupsRight = goal.pupsLeft;
+        goal.wolvesRight = goal.wolvesLeft;
+        goal.pupsLeft = 0;
+        goal.wolvesLeft = 0;
+        goal.boatLeft = false;
+        return goal;
+    }
+
+    /**
+     * Gets the number of bytes an encoded configuration takes
+     *
+     * @return int the width of the pups and wolves on the left and the side of the boat
+     */
+    @Override
+    public int getEncodedWidth() {
+        return 2 * Integer.BYTES + Byte.BYTES;
+    }
+
+    /**
+     * Writes the fields equals() compares into a buffer, the number of pups
+     * and wolves on the left then 1 if the boat is on the left or 0 if not
+     *
+     * @param buffer where the configuration is written
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        buffer.putInt(pupsLeft);
+        buffer.putInt(wolvesLeft);
+        buffer.put((byte) (boatLeft ? 1 : 0));
+    }
+
+    /**
+     * Reads a configuration of the same puzzle written by encode()
+     *
+     * @param buffer positioned at the configuration
+     * @return CrossingConfig the configuration the bytes stand for, with the same number of pups and wolves
+     */
+    @Override
+    public CrossingConfig decode(ByteBuffer buffer) {
+        int decodedPups = buffer.getInt();
+        int decodedWolves = buffer.getInt();
+        return new CrossingConfig(pupsLeft + pupsRight, wolvesLeft + wolvesRight, decodedPups, decodedWolves,
+                buffer.get() == 1);
     }
 
     /**
@@ -128,18 +283,71 @@ public class CrossingConfig implements Configuration {
     }
 
     /**
-     * Makes a unique hashCode by adding the number of pups and wolves
-     * on the left and also adding 1 if the boat is on the left
+     * Makes a hashCode from the fields equals() compares, the number of pups
+     * and wolves on the left and the side the boat is on, so different
+     * configurations spread over the buckets of a hash map
      *
-     * @return int the unique hashCode for the CrossingConfig
+     * @return int the hashCode for the CrossingConfig
      */
     @Override
     public int hashCode() {
-        int add = 0;
-        if(boatLeft){
-            add = 1;
-        }
-        return pupsLeft + pupsRight + add;
+        return 31 * (31 * pupsLeft + wolvesLeft) + (boatLeft ? 1 : 0);
+    }
+
+    /**
+     * Gets the number of pups on the left side of the river
+     *
+     * @return int the number of pups on the left
+     */
+    public int getPupsLeft() {
+        return pupsLeft;
+    }
+
+    /**
+     * Gets the number of wolves on the left side of the river
+     *
+     * @return int the number of wolves on the left
+     */
+    public int getWolvesLeft() {
+        return wolvesLeft;
+    }
+
+    /**
+     * Gets the number of pups on the right side of the river
+     *
+     * @return int the number of pups on the right
+     */
+    public int getPupsRight() {
+        return pupsRight;
+    }
+
+    /**
+     * Gets the number of wolves on the right side of the river
+     *
+     * @return int the number of wolves on the right
+     */
+    public int getWolvesRight() {
+        return wolvesRight;
+    }
+
+    /**
+     * Checks which side of the river the boat is on
+     *
+     * @return boolean true if the boat is on the left, false otherwise
+     */
+    public boolean isBoatLeft() {
+        return boatLeft;
+    }
+
+    /**
+     * Describes the puzzle and the state it is in, the animals on each side
+     * give the animals in the puzzle and the goal is always the same
+     *
+     * @return String the current state of the configuration
+     */
+    @Override
+    public String describe(){
+        return toString();
     }
 
     /**
@@ -0,0 +1,119 @@
+package puzzles.crossing;
+
+import puzzles.common.solver.SolutionPath;
+import puzzles.common.solver.SolveResult;
+
+/**
+ * Solves the Crossing puzzle without searching. The fewest crossings
+ * left from any configuration has a closed form, so the solution is
+ * walked from the start by taking the first crossing, in the order
+ * CrossingConfig.getNeighbors() makes them, that brings the crossings
+ * left down by one. That is the same solution the BFS solver finds, and
+ * it takes time and memory in the length of the solution, kept as flat
+ * arrays of the pups and wolves on the left at each step.
+ *
+ * @author Patricio Solis
+ */
+public class CrossingSolver {
+
+    /** the crossings left from a configuration that can't reach the solution */
+    private static final long UNSOLVABLE = -1;
+
+    /** the crossings the boat can make from the left, as pups and wolves moved, in getNeighbors() order */
+    private static final int[][] FEW_PUPS = {{0, 1}, {1, 0}};
+    /** the crossings made from the left when there are pups but no wolves, in getNeighbors() order */
+    private static final int[][] NO_WOLVES = {{1, 0}, {2, 0}};
+    /** the crossings made from the left otherwise, in getNeighbors() order */
+    private static final int[][] ANY = {{1, 0}, {2, 0}, {0, 1}};
+
+    /**
+     * Solves the puzzle for the given initial configuration
+     *
+     * @param start initial configuration of puzzle
+     * @return SolveResult the configurations that lead to the solution in order, empty if there is none,
+     * counting the configurations tried along the way as made and the ones on the path as unique
+     * @throws IllegalArgumentException if the solution is too long to keep in an array
+     */
+    public static SolveResult solve(CrossingConfig start){
+        long startTime = System.nanoTime();
+        int pups = start.getPupsLeft() + start.getPupsRight();
+        int wolves = start.getWolvesLeft() + start.getWolvesRight();
+        long moves = crossingsLeft(pups, start.getPupsLeft(), start.getWolvesLeft(), start.isBoatLeft());
+        if(moves == UNSOLVABLE){
+            return new SolveResult(SolutionPath.EMPTY, 1, 1, 1, System.nanoTime() - startTime);
+        }
+        if(moves >= Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException("A solution of " + moves + " crossings is too long to keep");
+        }
+
+        int[] pupsLeft = new int[(int) moves + 1]; // pups on the left at each step
+        int[] wolvesLeft = new int[(int) moves + 1]; // wolves on the left at each step
+        pupsLeft[0] = start.getPupsLeft();
+        wolvesLeft[0] = start.getWolvesLeft();
+        boolean boatLeft = start.isBoatLeft();
+        int totalConfig = 1;
+        for(int step = 0; step < moves; step++){
+            int p = pupsLeft[step];
+            int w = wolvesLeft[step];
+            if(boatLeft){
+                int[][] crossings = p - 2 < 0 ? FEW_PUPS : (w - 1 < 0 ? NO_WOLVES : ANY);
+                for(int[] crossing : crossings){
+                    totalConfig += 1;
+                    if(crossingsLeft(pups, p - crossing[0], w - crossing[1], false) == moves - step - 1){
+                        pupsLeft[step + 1] = p - crossing[0];
+                        wolvesLeft[step + 1] = w - crossing[1];
+                        break;
+                    }
+                }
+            } else { // the only crossing back is a single pup
+                totalConfig += 1;
+                pupsLeft[step + 1] = p + 1;
+                wolvesLeft[step + 1] = w;
+            }
+            boatLeft = !boatLeft;
+        }
+        boolean startLeft = start.isBoatLeft();
+        SolutionPath path = new SolutionPath(pupsLeft.length, step -> new CrossingConfig(pups, wolves,
+                pupsLeft[step], wolvesLeft[step], startLeft == (step % 2 == 0)));
+        return new SolveResult(path, totalConfig, pupsLeft.length, 1, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Works out the fewest crossings left to the solution. With the boat on
+     * the left every round trip takes at most one more across for good,
+     * since a pup has to bring the boat back. A wolf's round trip takes none
+     * across, as a pup comes back for it, so after the last two go over
+     * together each pup left costs two crossings and each wolf four.
+     * With fewer than two pups a pup can never stay over, so only a single
+     * wolf or pup crossing once can be solved.
+     *
+     * @param pups the total number of pups
+     * @param p the number of pups on the left
+     * @param w the number of wolves on the left
+     * @param boatLeft true if the boat is on the left, false otherwise
+     * @return long the fewest crossings left, UNSOLVABLE if the solution can't be reached
+     */
+    private static long crossingsLeft(int pups, long p, long w, boolean boatLeft){
+        if(p == 0 && w == 0){
+            return 0;
+        }
+        if(!boatLeft){ // a pup on the right has to bring the boat back first
+            if(pups - p < 1){
+                return UNSOLVABLE;
+            }
+            long left = crossingsLeft(pups, p + 1, w, true);
+            return left == UNSOLVABLE ? UNSOLVABLE : left + 1;
+        }
+        if(pups < 2){
+            return (p == 0 && w == 1) || (p == 1 && w == 0) ? 1 : UNSOLVABLE;
+        }
+        if(w < 0 || p < -1 || (p == -1 && w == 0)){ // wolves never come back, and a missing pup never helps
+            return UNSOLVABLE;
+        } else if(p == 1 && w == 0){
+            return 1;
+        } else if(p == -1 && w == 1){
+            return 2;
+        }
+        return 2 * p + 4 * w - 3;
+    }
+}
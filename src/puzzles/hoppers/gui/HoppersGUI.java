@@ -14,6 +14,7 @@ import puzzles.common.Observer;
 import puzzles.hoppers.model.HoppersModel;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 import java.io.File;
@@ -140,10 +141,10 @@ public class HoppersGUI extends Application implements Observer<HoppersModel, St
         resetButton.setText("Reset");
         resetButton.setOnAction(event -> model.reset());
 
-        /* makes the hint button that gives a hint on action */
+        /* makes the hint button that looks for a hint in the background on action */
         Button hintButton = new Button();
         hintButton.setText("Hint");
-        hintButton.setOnAction(event -> model.hint());
+        hintButton.setOnAction(event -> model.hintAsync(Platform::runLater));
 
         /* populates the borderPane */
         buttonBorderPane.setLeft(loadButton);
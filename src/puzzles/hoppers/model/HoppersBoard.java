@@ -0,0 +1,263 @@
+package puzzles.hoppers.model;
+
+import java.util.Arrays;
+
+/**
+ * The layout of a Hoppers puzzle: its size, which spots are lily pads and
+ * every jump between them. It is made once when a puzzle file is read and
+ * shared by every configuration of that puzzle, and never changes, so
+ * boards of different sizes can be solved on different threads. Boards
+ * of up to 64 lily pads fit the hoppers of each color in one long, larger
+ * ones spread them over as many longs as they need.
+ *
+ * @author Patricio Solis
+ */
+public class HoppersBoard {
+
+    /** the number of rows in puzzle */
+    private final int rows;
+    /** the number of columns in puzzle */
+    private final int cols;
+    /** the bit of each grid spot (row * cols + col) in the masks, -1 for water */
+    private final int[] bits;
+    /** the jumps out of each bit as pairs of the bit jumped over and the bit landed on, in getNeighbors() order */
+    private final int[][] jumps;
+    /** the bit each bit is moved to by every mirror or turn of the board other than leaving it be */
+    private final int[][] symmetries;
+    /** the number of longs the hoppers of each color take */
+    private final int words;
+
+    /**
+     * Constructor. Numbers every lily pad in grid order and works out
+     * every jump out of each of them once, so configurations only
+     * have to check bits.
+     *
+     * @param rows int, the number of rows in puzzle
+     * @param cols int, the number of columns in puzzle
+     * @param water boolean[], true for each grid spot (row * cols + col) that is water
+     */
+    public HoppersBoard(int rows, int cols, boolean[] water){
+        this.rows = rows;
+        this.cols = cols;
+
+        bits = new int[rows * cols];
+        int count = 0;
+        for(int spot = 0; spot < rows * cols; spot++){
+            if(water[spot]){
+                bits[spot] = -1;
+            } else {
+                bits[spot] = count++;
+            }
+        }
+        words = Math.max(1, (count + Long.SIZE - 1) / Long.SIZE);
+
+        jumps = new int[count][];
+        for(int r = 0; r < rows; r++){
+            for(int c = 0; c < cols; c++){
+                if(bits[r * cols + c] >= 0){
+                    jumps[bits[r * cols + c]] = makeJumps(r, c);
+                }
+            }
+        }
+        symmetries = makeSymmetries();
+    }
+
+    /**
+     * Works out which mirrors and turns of the grid leave the board the
+     * same. A mirror or turn is kept if it moves every lily pad onto a lily
+     * pad and every jump onto a jump, square boards are also tried flipped
+     * across their diagonals and turned a quarter.
+     *
+     * @return int[][], the bit each bit is moved to by each symmetry of the board
+     */
+    private int[][] makeSymmetries(){
+        int lastRow = rows - 1;
+        int lastCol = cols - 1;
+        int[][] found = new int[7][];
+        int count = 0;
+        for(int s = 1; s < (rows == cols ? 8 : 4); s++){ // 0 would leave every spot where it is
+            int[] moved = new int[jumps.length];
+            boolean fits = true;
+            for(int r = 0; r < rows && fits; r++){
+                for(int c = 0; c < cols && fits; c++){
+                    int[] spot = switch(s){
+                        case 1 -> new int[]{r, lastCol - c};
+                        case 2 -> new int[]{lastRow - r, c};
+                        case 3 -> new int[]{lastRow - r, lastCol - c};
+                        case 4 -> new int[]{c, r};
+                        case 5 -> new int[]{lastCol - c, lastRow - r};
+                        case 6 -> new int[]{c, lastRow - r};
+                        default -> new int[]{lastCol - c, r};
+                    };
+                    int from = bits[r * cols + c];
+                    int to = bits[spot[0] * cols + spot[1]];
+                    if((from < 0) != (to < 0)){ // water and lily pads have to stay apart
+                        fits = false;
+                    } else if(from >= 0){
+                        moved[from] = to;
+                    }
+                }
+            }
+            for(int bit = 0; bit < jumps.length && fits; bit++){
+                fits = sameJumps(moved, jumps[bit], jumps[moved[bit]]);
+            }
+            if(fits){
+                found[count++] = moved;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Checks if moving the bits of some jumps gives another set of jumps
+     *
+     * @param moved int[], the bit each bit is moved to
+     * @param before int[], pairs of the bit jumped over and the bit landed on before moving
+     * @param after int[], pairs of the bit jumped over and the bit landed on to compare with
+     * @return boolean, true if they are the same jumps in any order, false otherwise
+     */
+    private static boolean sameJumps(int[] moved, int[] before, int[] after){
+        if(before.length != after.length){
+            return false;
+        }
+        long[] movedJumps = new long[before.length / 2];
+        long[] otherJumps = new long[after.length / 2];
+        for(int j = 0; j < before.length; j += 2){
+            movedJumps[j / 2] = (long) moved[before[j]] << Integer.SIZE | moved[before[j + 1]];
+            otherJumps[j / 2] = (long) after[j] << Integer.SIZE | after[j + 1];
+        }
+        Arrays.sort(movedJumps);
+        Arrays.sort(otherJumps);
+        return Arrays.equals(movedJumps, otherJumps);
+    }
+
+    /**
+     * Works out every jump out of a spot, in the order getNeighbors() tries
+     * them. Hoppers on even rows can also jump straight up, down, left and
+     * right, and every hopper can jump diagonally.
+     *
+     * @param r int, the row of the spot
+     * @param c int, the column of the spot
+     * @return int[], pairs of the bit jumped over and the bit landed on
+     */
+    private int[] makeJumps(int r, int c){
+        int[][] moves = {{2, 0}, {-2, 0}, {0, -2}, {0, 2}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        int[] spotJumps = new int[moves.length * 2];
+        int count = 0;
+        for(int m = 0; m < moves.length; m++){
+            if(m < 4 && r % 2 != 0){
+                continue;
+            }
+            int overRow = r + moves[m][0];
+            int overCol = c + moves[m][1];
+            int toRow = overRow + moves[m][0];
+            int toCol = overCol + moves[m][1];
+            if(toRow >= 0 && toRow < rows && toCol >= 0 && toCol < cols
+                    && bits[overRow * cols + overCol] >= 0 && bits[toRow * cols + toCol] >= 0){
+                spotJumps[count++] = bits[overRow * cols + overCol];
+                spotJumps[count++] = bits[toRow * cols + toCol];
+            }
+        }
+        return Arrays.copyOf(spotJumps, count);
+    }
+
+    /**
+     * Gets the number of rows in puzzle
+     *
+     * @return int, the total number of rows
+     */
+    public int getRows(){return rows;}
+
+    /**
+     * Gets the number of columns in puzzle
+     *
+     * @return int, the total number of columns
+     */
+    public int getCols(){return cols;}
+
+    /**
+     * Gets the bit of a spot in the masks
+     *
+     * @param row int, the specific row
+     * @param col int, the specific column
+     * @return int, the bit of the spot, -1 if it is water
+     */
+    public int getBit(int row, int col){return bits[row * cols + col];}
+
+    /**
+     * Gets the jumps out of a lily pad
+     *
+     * @param bit int, the bit of the lily pad
+     * @return int[], pairs of the bit jumped over and the bit landed on, in getNeighbors() order
+     */
+    int[] getJumps(int bit){return jumps[bit];}
+
+    /**
+     * Gets the number of longs the hoppers of each color take, 1 unless
+     * the board has more than 64 lily pads
+     *
+     * @return int, the number of longs in a mask
+     */
+    public int getWords(){return words;}
+
+    /**
+     * Gets the number of mirrors and turns that leave the board the same,
+     * not counting leaving it be
+     *
+     * @return int, the number of symmetries of the board
+     */
+    public int getSymmetryCount(){return symmetries.length;}
+
+    /**
+     * Moves every bit of a mask the way a symmetry of the board moves its spots
+     *
+     * @param symmetry int, the symmetry, from 0 to getSymmetryCount() - 1
+     * @param mask long, the bits to be moved
+     * @return long, the mask after the symmetry
+     */
+    long permute(int symmetry, long mask){
+        int[] moved = symmetries[symmetry];
+        long result = 0;
+        while(mask != 0){
+            int bit = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            result |= 1L << moved[bit];
+        }
+        return result;
+    }
+
+    /**
+     * Moves every bit of a mask spread over many longs the way a symmetry
+     * of the board moves its spots
+     *
+     * @param symmetry int, the symmetry, from 0 to getSymmetryCount() - 1
+     * @param mask long[], the bits to be moved, getWords() longs
+     * @return long[], the mask after the symmetry
+     */
+    long[] permute(int symmetry, long[] mask){
+        int[] moved = symmetries[symmetry];
+        long[] result = new long[mask.length];
+        for(int w = 0; w < mask.length; w++){
+            long word = mask[w];
+            while(word != 0){
+                int bit = moved[w * Long.SIZE + Long.numberOfTrailingZeros(word)];
+                word &= word - 1;
+                result[bit / Long.SIZE] |= 1L << bit;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HoppersBoard that = (HoppersBoard) o;
+        return rows == that.rows && cols == that.cols && Arrays.equals(bits, that.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + cols) + Arrays.hashCode(bits);
+    }
+}
@@ -1,35 +1,49 @@
 package puzzles.hoppers.model;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.EncodableConfiguration;
+import puzzles.common.solver.StorableConfiguration;
+import puzzles.common.solver.SymmetricConfiguration;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Represents a single configuration in the Hoppers puzzle.
  *
  * @author Patricio Solis
  */
-public class HoppersConfig implements Configuration {
+public class HoppersConfig implements SymmetricConfiguration, EncodableConfiguration, StorableConfiguration {
 
     /** the string for a valid jump spot */
     private static String VALID_CELL = ".";
-    /** the number of rows in puzzle */
-    private static int ROW;
-    /** the number of columns in puzzle */
-    private static int COL;
-    /** grid to be populated */
-    private String grid[][];
+    /** the string for a spot hoppers can never be on */
+    private static String WATER_CELL = "*";
+    /** the string for a green hopper */
+    private static String GREEN_HOPPER = "G";
+    /** the string for a red hopper */
+    private static String RED_HOPPER = "R";
+    /** the layout shared by every configuration of this puzzle */
+    private final HoppersBoard board;
+    /** bits of the spots with a green hopper, the first 64 lily pads */
+    private long green;
+    /** bits of the spots with a red hopper, the first 64 lily pads */
+    private long red;
+    /** bits of the spots with a green hopper past the first 64 lily pads, null if the board fits a long */
+    private long[] moreGreen;
+    /** bits of the spots with a red hopper past the first 64 lily pads, null if the board fits a long */
+    private long[] moreRed;
     /** the row of hopper to be deleted */
     private int rowDelete;
     /** the col of hopper to be deleted */
     private int colDelete;
 
     /**
-     * Constructor. Stores the number of rows and columns in
-     * puzzle and populates the grid.
+     * Constructor. Reads the size and layout of the puzzle into a
+     * board and sets the bits of the hoppers.
      *
      * @param filename String, the name of file to be read for puzzle
      * @throws FileNotFoundException
@@ -37,17 +51,31 @@ public class HoppersConfig implements Configuration {
     public HoppersConfig(String filename) throws FileNotFoundException{
         Scanner f = new Scanner(new File(filename));
 
-        ROW = f.nextInt();
-        COL = f.nextInt();
+        int rows = f.nextInt();
+        int cols = f.nextInt();
 
-        grid = new String[ROW][COL];
-        for(int r = 0; r < ROW; r++){
-            for(int c = 0; c < COL; c++){
-                String next = f.next();
-                grid[r][c] = next;
+        String[] spots = new String[rows * cols];
+        boolean[] water = new boolean[rows * cols];
+        for(int spot = 0; spot < rows * cols; spot++){
+            spots[spot] = f.next();
+            water[spot] = spots[spot].equals(WATER_CELL);
+        }
+
+        board = new HoppersBoard(rows, cols, water);
+        if(board.getWords() > 1){ // more than 64 lily pads
+            moreGreen = new long[board.getWords() - 1];
+            moreRed = new long[board.getWords() - 1];
+        }
+        for(int r = 0; r < rows; r++){
+            for(int c = 0; c < cols; c++){
+                if(spots[r * cols + c].equals(GREEN_HOPPER)){
+                    set(false, board.getBit(r, c), true);
+                } else if(spots[r * cols + c].equals(RED_HOPPER)){
+                    set(true, board.getBit(r, c), true);
                 }
             }
         }
+    }
 
     /**
      * The copy constructor.
@@ -61,41 +89,148 @@ public class HoppersConfig implements Configuration {
      * @param moveCol int, the column where the hopper (at currRow and currCol) is being moved
      */
     public HoppersConfig(HoppersConfig copy, int currRow, int currCol, int delHRow, int delCRow, int moveRow, int moveCol){
+        this(copy, copy.board.getBit(currRow, currCol), copy.board.getBit(delHRow, delCRow),
+                copy.board.getBit(moveRow, moveCol));
+    }
 
-        String colorHopper = copy.grid[currRow][currCol]; // remembers the color of hopper being moved
+    /**
+     * The copy constructor for an unchanged configuration.
+     *
+     * @param copy HoppersConfig, the configuration to be copied
+     */
+    public HoppersConfig(HoppersConfig copy){
+        board = copy.board;
+        green = copy.green;
+        red = copy.red;
+        if(copy.moreGreen != null){
+            moreGreen = copy.moreGreen.clone();
+            moreRed = copy.moreRed.clone();
+        }
+    }
 
-        grid = new String[ROW][COL];
-        for(int r = 0; r < ROW; r++){
-            for(int c = 0; c < COL; c++){
-                if(r == currRow && c == currCol){ // when true means the hopper left this space, so it is now VALID_CELL
-                    grid[r][c] = VALID_CELL;
-                }
-                else if(r == delHRow && c == delCRow){ // when true means the hopper is deleted, so it is now VALID_CELL
-                    grid[r][c] = VALID_CELL;
-                }
-                else if(r == moveRow && c == moveCol){ // when true means the hopper is moved to this spot on grid[][]
-                    grid[r][c] = colorHopper;
-                } else {
-                    grid[r][c] = copy.grid[r][c]; // copies the grid of the configuration to be copied
-                }
-            }
+    /**
+     * The copy constructor for a jump given as bits.
+     *
+     * @param copy HoppersConfig, the configuration to be copied
+     * @param from int, the bit of the hopper that is being moved
+     * @param over int, the bit of the hopper that is being deleted
+     * @param to int, the bit where the hopper is being moved
+     */
+    private HoppersConfig(HoppersConfig copy, int from, int over, int to){
+        this(copy);
+        boolean redHopper = has(true, from);
+        set(false, over, false);
+        set(redHopper, from, false);
+        set(redHopper, to, true);
+    }
+
+    /**
+     * The constructor for hoppers given as bits.
+     *
+     * @param board HoppersBoard, the layout of the puzzle
+     * @param green long, bits of the spots with a green hopper
+     * @param red long, bits of the spots with a red hopper
+     */
+    private HoppersConfig(HoppersBoard board, long green, long red){
+        this.board = board;
+        this.green = green;
+        this.red = red;
+    }
+
+    /**
+     * The constructor for hoppers given as bits spread over many longs.
+     *
+     * @param board HoppersBoard, the layout of the puzzle
+     * @param green long[], bits of the spots with a green hopper, board.getWords() longs
+     * @param red long[], bits of the spots with a red hopper, board.getWords() longs
+     */
+    private HoppersConfig(HoppersBoard board, long[] green, long[] red){
+        this(board, green[0], red[0]);
+        if(green.length > 1){
+            moreGreen = Arrays.copyOfRange(green, 1, green.length);
+            moreRed = Arrays.copyOfRange(red, 1, red.length);
         }
+    }
 
+    /**
+     * Gets one long of the bits of the hoppers of a color
+     *
+     * @param redMask boolean, true for the red hoppers, false for the green ones
+     * @param word int, which long, from 0 to board.getWords() - 1
+     * @return long, the bits of lily pads word * 64 to word * 64 + 63
+     */
+    private long word(boolean redMask, int word){
+        if(word == 0){
+            return redMask ? red : green;
+        }
+        return (redMask ? moreRed : moreGreen)[word - 1];
+    }
+
+    /**
+     * Gets every bit of the hoppers of a color
+     *
+     * @param redMask boolean, true for the red hoppers, false for the green ones
+     * @return long[], the board.getWords() longs of bits
+     */
+    private long[] words(boolean redMask){
+        long[] all = new long[board.getWords()];
+        for(int w = 0; w < all.length; w++){
+            all[w] = word(redMask, w);
+        }
+        return all;
+    }
+
+    /**
+     * Checks if a lily pad has a hopper of a color
+     *
+     * @param redMask boolean, true for the red hoppers, false for the green ones
+     * @param bit int, the bit of the lily pad
+     * @return boolean, true if the hopper is there, false otherwise
+     */
+    private boolean has(boolean redMask, int bit){
+        return (word(redMask, bit / Long.SIZE) & 1L << bit) != 0;
+    }
+
+    /**
+     * Puts or takes away a hopper of a color on a lily pad
+     *
+     * @param redMask boolean, true for the red hoppers, false for the green ones
+     * @param bit int, the bit of the lily pad
+     * @param on boolean, true to put the hopper there, false to take it away
+     */
+    private void set(boolean redMask, int bit, boolean on){
+        long flag = 1L << bit;
+        if(bit < Long.SIZE && redMask){
+            red = on ? red | flag : red & ~flag;
+        } else if(bit < Long.SIZE){
+            green = on ? green | flag : green & ~flag;
+        } else {
+            long[] more = redMask ? moreRed : moreGreen;
+            int w = bit / Long.SIZE - 1;
+            more[w] = on ? more[w] | flag : more[w] & ~flag;
+        }
     }
 
+    /**
+     * Gets the layout shared by every configuration of the current puzzle
+     *
+     * @return HoppersBoard, the board of the puzzle
+     */
+    public HoppersBoard getBoard(){return board;}
+
     /**
      * Gets the number of columns in current puzzle configuration
      *
      * @return int, the total number of columns
      */
-    public int getCOL(){return COL;}
+    public int getCOL(){return board.getCols();}
 
     /**
      * Gets the number of rows in current puzzle configuration
      *
      * @return int, the total number of rows
      */
-    public int getROW(){return ROW;}
+    public int getROW(){return board.getRows();}
 
     /**
      * Gets the String at the grid given the specific row and column
@@ -104,93 +239,207 @@ public class HoppersConfig implements Configuration {
      * @param col int, the specific column
      * @return String, the string at specific point in grid
      */
-    public String getGrid(int row, int col){return grid[row][col];}
+    public String getGrid(int row, int col){
+        int bit = board.getBit(row, col);
+        if(bit < 0){
+            return WATER_CELL;
+        } else if(has(false, bit)){
+            return GREEN_HOPPER;
+        } else if(has(true, bit)){
+            return RED_HOPPER;
+        }
+        return VALID_CELL;
+    }
 
 
     @Override
     public boolean isSolution() {
-
-        boolean flag = false;
-
-        for(int r = 0; r < ROW; r++){
-            for(int c = 0; c < COL; c++){
-                if(grid[r][c].equals("G")){
-                    return false;
-                }
-                if(grid[r][c].equals("R")){
-                    flag = true;
-                }
+        boolean anyRed = false;
+        for(int w = 0; w < board.getWords(); w++){
+            if(word(false, w) != 0){
+                return false;
             }
+            anyRed |= word(true, w) != 0;
         }
-
-        return flag;
+        return anyRed;
     }
 
     @Override
     public Collection<Configuration> getNeighbors() {
-        List<Configuration> successors = new LinkedList<>();
-        for(int r = 0; r < ROW; r++) {
-            for (int c = 0; c < COL; c++) {
-                if (grid[r][c].equals("G") || grid[r][c].equals("R")) {
-                    if (r % 2 == 0) {
-                        if(r + 2 < ROW && r + 4 < ROW ) {
-                            if (grid[r + 2][c].equals("G") && grid[r + 4][c].equals(VALID_CELL)) {
-                                successors.add(new HoppersConfig(this, r, c, r + 2, c, r + 4, c));
-                            }
-                        }
-                        if(r - 2 >= 0 && r - 4 >= 0) {
-                            if (grid[r - 2][c].equals("G") && grid[r - 4][c].equals(VALID_CELL)) {
-                                successors.add(new HoppersConfig(this, r, c, r - 2, c, r - 4, c));
-                            }
-                        }
-                        if(c - 2 >= 0 && c - 4 >= 0) {
-                            if (grid[r][c - 2].equals("G") && grid[r][c - 4].equals(VALID_CELL)) {
-                                successors.add(new HoppersConfig(this, r, c, r, c - 2, r, c - 4));
-                            }
-                        }
-                        if(c + 2 < COL && c + 4 < COL) {
-                            if (grid[r][c + 2].equals("G") && grid[r][c + 4].equals(VALID_CELL)) {
-                                successors.add(new HoppersConfig(this, r, c, r, c + 2, r, c + 4));
-                            }
-                        }
-                    }
-                    if(r + 1 < ROW && c + 1 < COL && r + 2 < ROW && c + 2 < COL) {
-                        if (grid[r + 1][c + 1].equals("G") && grid[r + 2][c + 2].equals(VALID_CELL)) {
-                            successors.add(new HoppersConfig(this, r, c, r + 1, c + 1, r + 2, c + 2));
-                        }
-                    }
-                    if(r + 1 < ROW && c - 1 >= 0 &&  r + 2 < ROW && c - 2 >= 0) {
-                        if (grid[r + 1][c - 1].equals("G") && grid[r + 2][c - 2].equals(VALID_CELL)) {
-                            successors.add(new HoppersConfig(this, r, c, r + 1, c - 1, r + 2, c - 2));
-                        }
-                    }
-                    if(r - 1 >= 0 && c + 1 < COL && r - 2 >= 0 && c + 2 < COL) {
-                        if (grid[r - 1][c + 1].equals("G") && grid[r - 2][c + 2].equals(VALID_CELL)) {
-                            successors.add(new HoppersConfig(this, r, c, r - 1, c + 1, r - 2, c + 2));
-                        }
-                    }
-                    if(r - 1 >= 0 && c - 1 >= 0 && r - 2 >= 0 && c - 2 >= 0) {
-                        if (grid[r - 1][c - 1].equals("G") && grid[r - 2][c - 2].equals(VALID_CELL)) {
-                            successors.add(new HoppersConfig(this, r, c, r - 1, c - 1, r - 2, c - 2));
-                        }
+        List<Configuration> successors = new ArrayList<>();
+        forEachNeighbor(successors::add);
+        return successors;
+    }
+
+    /**
+     * Hands each jump of a hopper over a green hopper onto an empty lily pad
+     * to the sink, going through the hoppers in grid order
+     *
+     * @param sink Consumer, takes each successor
+     */
+    @Override
+    public void forEachNeighbor(Consumer<Configuration> sink) {
+        for(int w = 0; w < board.getWords(); w++){
+            long hoppers = word(false, w) | word(true, w);
+            while(hoppers != 0){ // goes through the hoppers in grid order
+                int from = w * Long.SIZE + Long.numberOfTrailingZeros(hoppers);
+                hoppers &= hoppers - 1;
+                int[] jumps = board.getJumps(from);
+                for(int j = 0; j < jumps.length; j += 2){
+                    int over = jumps[j];
+                    int to = jumps[j + 1];
+                    if(has(false, over) && !has(false, to) && !has(true, to)){
+                        sink.accept(new HoppersConfig(this, from, over, to));
                     }
                 }
             }
         }
-        return successors;
     }
 
+    /**
+     * Describes the puzzle and the state it is in, the grid shows the water
+     * as well as the hoppers so it is the whole board. Rows always end in
+     * '\n' so the description is the same on every system.
+     *
+     * @return String the board size and the grid of the configuration
+     */
+    @Override
+    public String describe(){
+        StringBuilder builder = new StringBuilder();
+        builder.append(board.getRows()).append(' ').append(board.getCols()).append('\n');
+        for(int r = 0; r < board.getRows(); r++){
+            for(int c = 0; c < board.getCols(); c++){
+                builder.append(getGrid(r, c));
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
 
     @Override
     public String toString(){
+        StringBuilder builder = new StringBuilder();
+        for(int r = 0; r < board.getRows(); r++){
+            for(int c = 0; c < board.getCols(); c++){
+                builder.append(getGrid(r, c)).append(' ');
+            }
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gives the configuration with the smallest red then green bits out of
+     * this one and every mirror and turn of it that fits the board.
+     *
+     * @return Configuration, the same configuration for every symmetry of this one
+     */
+    @Override
+    public Configuration canonical() {
+        if(moreGreen != null){
+            return canonicalWords();
+        }
+        long bestGreen = green;
+        long bestRed = red;
+        for(int s = 0; s < board.getSymmetryCount(); s++){
+            long movedRed = board.permute(s, red);
+            long movedGreen = board.permute(s, green);
+            int order = Long.compareUnsigned(movedRed, bestRed);
+            if(order < 0 || (order == 0 && Long.compareUnsigned(movedGreen, bestGreen) < 0)){
+                bestGreen = movedGreen;
+                bestRed = movedRed;
+            }
+        }
+        return bestGreen == green && bestRed == red ? this : new HoppersConfig(board, bestGreen, bestRed);
+    }
 
-        for(int r = 0; r < ROW; r++){
-            for(int c = 0; c < COL; c++){
-                System.out.print(grid[r][c] + " ");
+    /**
+     * Gives the same configuration as canonical() on boards of more than
+     * 64 lily pads, comparing the longs of bits from the last one down.
+     *
+     * @return Configuration, the same configuration for every symmetry of this one
+     */
+    private Configuration canonicalWords() {
+        long[] bestGreen = words(false);
+        long[] bestRed = words(true);
+        boolean moved = false;
+        for(int s = 0; s < board.getSymmetryCount(); s++){
+            long[] movedRed = board.permute(s, words(true));
+            long[] movedGreen = board.permute(s, words(false));
+            int order = compareWords(movedRed, bestRed);
+            if(order < 0 || (order == 0 && compareWords(movedGreen, bestGreen) < 0)){
+                bestGreen = movedGreen;
+                bestRed = movedRed;
+                moved = true;
             }
-            System.out.println("");
         }
-        return "";
+        return moved ? new HoppersConfig(board, bestGreen, bestRed) : this;
+    }
+
+    /**
+     * Compares two masks spread over many longs as unsigned numbers
+     *
+     * @param first long[], the first mask
+     * @param second long[], the second mask, as long as the first
+     * @return int, less than 0 if first is smaller, 0 if they are equal, more than 0 otherwise
+     */
+    private static int compareWords(long[] first, long[] second){
+        for(int w = first.length - 1; w >= 0; w--){
+            int order = Long.compareUnsigned(first[w], second[w]);
+            if(order != 0){
+                return order;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the number of bytes an encoded configuration takes, a long for
+     * each color unless the board has more than 64 lily pads
+     *
+     * @return int, the width of the green then red bits
+     */
+    @Override
+    public int getEncodedWidth() {
+        return 2 * board.getWords() * Long.BYTES;
+    }
+
+    /**
+     * Writes the bits of the green hoppers then the red hopper into a buffer
+     *
+     * @param buffer ByteBuffer, where the configuration is written
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        for(int w = 0; w < board.getWords(); w++){
+            buffer.putLong(word(false, w));
+        }
+        for(int w = 0; w < board.getWords(); w++){
+            buffer.putLong(word(true, w));
+        }
+    }
+
+    /**
+     * Reads a configuration on the same board written by encode()
+     *
+     * @param buffer ByteBuffer, positioned at the configuration
+     * @return HoppersConfig, the configuration the bytes stand for
+     */
+    @Override
+    public HoppersConfig decode(ByteBuffer buffer) {
+        if(board.getWords() == 1){
+            long decodedGreen = buffer.getLong();
+            return new HoppersConfig(board, decodedGreen, buffer.getLong());
+        }
+        long[] decodedGreen = new long[board.getWords()];
+        long[] decodedRed = new long[board.getWords()];
+        for(int w = 0; w < decodedGreen.length; w++){
+            decodedGreen[w] = buffer.getLong();
+        }
+        for(int w = 0; w < decodedRed.length; w++){
+            decodedRed[w] = buffer.getLong();
+        }
+        return new HoppersConfig(board, decodedGreen, decodedRed);
     }
 
     @Override
@@ -198,12 +447,18 @@ public class HoppersConfig implements Configuration {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         HoppersConfig that = (HoppersConfig) o;
-        return Arrays.deepEquals(grid, that.grid);
+        return green == that.green && red == that.red && Arrays.equals(moreGreen, that.moreGreen)
+                && Arrays.equals(moreRed, that.moreRed) && board.equals(that.board);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(grid);
+        long mixed = green * 31 + red;
+        if(moreGreen != null){ // boards of more than 64 lily pads
+            mixed = mixed * 31 + Arrays.hashCode(moreGreen) * 31L + Arrays.hashCode(moreRed);
+        }
+        mixed *= 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
     }
 
     /**
@@ -215,7 +470,7 @@ public class HoppersConfig implements Configuration {
      * @return boolean, true if row and col in bounds, false otherwise
      */
     public boolean isOutOfBounds(int row, int col){
-        return row < 0 || col < 0 || row >= ROW || col >= COL;
+        return row < 0 || col < 0 || row >= board.getRows() || col >= board.getCols();
     }
 
     /**
@@ -226,7 +481,7 @@ public class HoppersConfig implements Configuration {
      * @return boolean, true if selected row and col are a hopper, false otherwise
      */
     public boolean isValidFirstSelection(int row, int col){
-        return grid[row][col].equals("G") || grid[row][col].equals("R");
+        return getGrid(row, col).equals(GREEN_HOPPER) || getGrid(row, col).equals(RED_HOPPER);
     }
 
     /**
@@ -234,6 +489,7 @@ public class HoppersConfig implements Configuration {
      * and also checks if the move jumps over a hopper. If it meets both conditions,
      * the configuration saves the row and column of the hopper that was jumped over,
      * as the hopper at that point in the grid needs to be replaced with a VALID_CELL.
+     * A hopper can never land in the water.
      *
      * @param firstRow int, row of first selection
      * @param firstCol int, column of first selection
@@ -243,54 +499,58 @@ public class HoppersConfig implements Configuration {
      */
     public boolean isValidSecondSelection(int firstRow, int firstCol, int secondRow, int secondCol) {
 
+        if (getGrid(secondRow, secondCol).equals(WATER_CELL)){
+            return false;
+        }
+
         int checkChangeRow = secondRow - firstRow;
         int checkChangeCol = secondCol - firstCol;
         boolean valid = false;
 
         if (checkChangeRow == -4 && !isOutOfBounds(firstRow - 2, firstCol)){
-            if(grid[firstRow - 2][firstCol].equals("G")) {
+            if(getGrid(firstRow - 2, firstCol).equals(GREEN_HOPPER)) {
                 valid = true;
                 rowDelete = firstRow - 2;
                 colDelete = firstCol;
             }
         } else if (checkChangeRow == -2 && checkChangeCol == 2 && !isOutOfBounds(firstRow - 1, firstCol + 1)){
-                if(grid[firstRow - 1][firstCol + 1].equals("G")) {
+                if(getGrid(firstRow - 1, firstCol + 1).equals(GREEN_HOPPER)) {
                     valid = true;
                     rowDelete = firstRow - 1;
                     colDelete = firstCol + 1;
                 }
         } else if (checkChangeCol == 4 && !isOutOfBounds(firstRow, firstCol + 2)){
-               if(grid[firstRow][firstCol + 2].equals("G")) {
+               if(getGrid(firstRow, firstCol + 2).equals(GREEN_HOPPER)) {
                    valid = true;
                    rowDelete = firstRow;
                    colDelete = firstCol + 2;
                }
         } else if (checkChangeRow == 2 && checkChangeCol == 2 && !isOutOfBounds(firstRow + 1, firstCol + 1)){
-                if(grid[firstRow + 1][firstCol + 1].equals("G")) {
+                if(getGrid(firstRow + 1, firstCol + 1).equals(GREEN_HOPPER)) {
                     valid = true;
                     rowDelete = firstRow + 1;
                     colDelete = firstCol + 1;
                 }
         } else if (checkChangeRow == 4 && !isOutOfBounds(firstRow + 2, firstCol)){
-            if (grid[firstRow + 2][firstCol].equals("G")) {
+            if (getGrid(firstRow + 2, firstCol).equals(GREEN_HOPPER)) {
                 valid = true;
                 rowDelete = firstRow + 2;
                 colDelete = firstCol;
             }
         } else if(checkChangeRow == 2 && checkChangeCol == -2 && !isOutOfBounds(firstRow + 1, firstCol - 1)){
-                if(grid[firstRow + 1][firstCol - 1].equals("G")) {
+                if(getGrid(firstRow + 1, firstCol - 1).equals(GREEN_HOPPER)) {
                     valid = true;
                     rowDelete = firstRow + 1;
                     colDelete = firstCol - 1;
                 }
         } else if(checkChangeRow == -2 && checkChangeCol == -2 && !isOutOfBounds(firstRow - 1, firstCol - 1)){
-                if(grid[firstRow - 1][firstCol - 1].equals("G")) {
+                if(getGrid(firstRow - 1, firstCol - 1).equals(GREEN_HOPPER)) {
                     valid = true;
                     rowDelete = firstRow - 1;
                     colDelete = firstCol - 1;
                 }
         } else if(!isOutOfBounds(firstRow, firstCol - 2)){
-                if(grid[firstRow][firstCol - 2].equals("G")) {
+                if(getGrid(firstRow, firstCol - 2).equals(GREEN_HOPPER)) {
                     valid = true;
                     rowDelete = firstRow;
                     colDelete = firstCol - 2;
@@ -310,10 +570,15 @@ public class HoppersConfig implements Configuration {
      * @param secondCol int, column of spot to mover hopper to
      */
     public void makeMove(int firstRow, int firstCol, int secondRow, int secondCol){
-        String colorHopper = grid[firstRow][firstCol];
-        grid[firstRow][firstCol] = ".";
-        grid[secondRow][secondCol] = colorHopper;
-        grid[rowDelete][colDelete] = ".";
+        int from = board.getBit(firstRow, firstCol);
+        int to = board.getBit(secondRow, secondCol);
+        int over = board.getBit(rowDelete, colDelete);
+        boolean redHopper = has(true, from);
+        for(int bit : new int[]{from, to, over}){
+            set(false, bit, false);
+            set(true, bit, false);
+        }
+        set(redHopper, to, true);
     }
 
 }
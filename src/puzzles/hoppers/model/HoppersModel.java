@@ -1,16 +1,17 @@
 package puzzles.hoppers.model;
 
 import puzzles.common.Observer;
-import puzzles.common.solver.Configuration;
+import puzzles.common.solver.HintCache;
+import puzzles.common.solver.HintSearch;
 import puzzles.common.solver.Solver;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.Executor;
 
 /**
  * The model for the Hoppers game.
@@ -20,6 +21,10 @@ import java.util.Scanner;
 public class HoppersModel {
     /** the collection of observers of this model */
     private final List<Observer<HoppersModel, String>> observers = new LinkedList<>();
+    /** the solver used for hints, it keeps no state between solves */
+    private final Solver solver = new Solver();
+    /** the hints found so far, shared by every hoppers model */
+    private static final HintCache HINTS = new HintCache(100_000);
 
     /** the game status */
     public enum Status{
@@ -39,6 +44,8 @@ public class HoppersModel {
     private int firstSelectCol;
     /** the filename of most recently loaded file */
     private String filename;
+    /** the hint being looked for in the background, null if there is none */
+    private HintSearch hintSearch;
 
 
     /**
@@ -86,25 +93,96 @@ public class HoppersModel {
      */
     public HoppersConfig getCurrentConfig(){return this.currentConfig;}
 
+    /**
+     * Gives the hint cache shared by every hoppers model, for its hit and miss counts
+     *
+     * @return HintCache the hint cache
+     */
+    public static HintCache getHintCache(){return HINTS;}
+
     /**
      * Solves the current configuration of model and if it is solvable it
      * makes the model's currentConfiguration to the next step in the solution
-     * it also updates the game state if the puzzle has been solved.
+     * it also updates the game state if the puzzle has been solved. Solutions
+     * are cached, so following hints only solves once.
      *
      */
     public void hint(){
-        ArrayList<Configuration> solution = Solver.solver(this.currentConfig);
         if(this.currentConfig.isSolution()){
             alertObservers("Solved!");
             this.status = Status.WON;
-        } else if(!solution.isEmpty()) {
-            this.currentConfig = (HoppersConfig) solution.get(1);
+            return;
+        }
+        showHint(HINTS.hint(new HoppersConfig(this.currentConfig), solver));
+    }
+
+    /**
+     * Does the same as hint() but solves on a background thread so the
+     * caller's thread is never blocked. The progress of the solve and the
+     * hint are sent to the observers through the given executor, a GUI
+     * passes Platform::runLater so they arrive on its own thread. Only one
+     * hint is looked for at a time, and it is dropped if the puzzle is
+     * loaded or reset or a move is made before it is found. If the search
+     * fails, the observers are told what went wrong.
+     *
+     * @param observerThread Executor; runs the updates to the observers
+     */
+    public void hintAsync(Executor observerThread){
+        if(this.currentConfig.isSolution()){
+            alertObservers("Solved!");
+            this.status = Status.WON;
+            return;
+        }
+        if(this.hintSearch != null){
+            alertObservers("Still looking for a hint...");
+            return;
+        }
+        HoppersConfig start = new HoppersConfig(this.currentConfig);
+        HintSearch search = new HintSearch(HINTS, solver, start, observerThread,
+                (expanded, frontier) -> alertObservers("Looking for a hint: " + expanded + " checked, "
+                        + frontier + " waiting"),
+                hint -> {
+                    this.hintSearch = null;
+                    if(this.currentConfig.equals(start)){
+                        showHint(hint);
+                    } else {
+                        alertObservers("Puzzle changed, hint dropped.");
+                    }
+                },
+                problem -> {
+                    this.hintSearch = null;
+                    alertObservers("Couldn't find a hint: " + problem);
+                });
+        this.hintSearch = search;
+        alertObservers("Looking for a hint...");
+        search.start();
+    }
+
+    /**
+     * Makes the next step of a hint the current configuration
+     *
+     * @param hint HintCache.Hint; the hint for the current configuration
+     */
+    private void showHint(HintCache.Hint hint){
+        if(hint.isSolvable()) {
+            // copied since moves change the configuration and the cached one has to stay the same
+            this.currentConfig = new HoppersConfig((HoppersConfig) hint.getNext());
             alertObservers("Successful hint!");
         } else {
             alertObservers("Not Solvable!");
         }
     }
 
+    /**
+     * Stops looking for the hint being looked for in the background, if there is one
+     */
+    private void cancelHint(){
+        if(this.hintSearch != null){
+            this.hintSearch.cancel();
+            this.hintSearch = null;
+        }
+    }
+
     /**
      * Loads the given hoppers puzzle file and makes the currentConfig
      * to the new configuration given by the file. It also changes the
@@ -114,6 +192,7 @@ public class HoppersModel {
      * @param filename String; the filename to be loaded
      */
     public void load(String filename){
+        cancelHint();
         try{
             this.currentConfig = new HoppersConfig(filename);
             this.filename = filename;
@@ -154,6 +233,7 @@ public class HoppersModel {
             if(this.currentConfig.isOutOfBounds(row, col)){
                 alertObservers("Selection (" + row + " , " + col + ") is out of bounds.");
             } else if(this.currentConfig.isValidSecondSelection(firstSelectRow, firstSelectCol, row, col)){
+                cancelHint();
                 this.currentConfig.makeMove(firstSelectRow, firstSelectCol, row, col);
                 alertObservers("Jumped from (" + firstSelectRow + ", " + firstSelectCol + ") to (" + row + ", " + col + ")");
             } else {
@@ -174,6 +254,7 @@ public class HoppersModel {
      *
      */
     public void reset(){
+        cancelHint();
         try{
             this.currentConfig = new HoppersConfig(filename);
             alertObservers("Puzzle "  + filename + " reset!");
@@ -1,12 +1,14 @@
 package puzzles.hoppers.solver;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.SolutionPrinter;
+import puzzles.common.solver.SolveResult;
 import puzzles.common.solver.Solver;
 import puzzles.hoppers.model.HoppersConfig;
 
 import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.util.ArrayList;
+import java.io.PrintStream;
+import java.util.List;
 
 public class Hoppers {
     public static void main(String[] args) throws FileNotFoundException {
@@ -14,23 +16,32 @@ public class Hoppers {
             System.out.println("Usage: java Hoppers filename");
         }
 
-        String fileName = args[0];
-        System.out.println("File: " + fileName);
+        solve(args[0], System.out);
+    }
+
+    /**
+     * Solves a puzzle file and prints the puzzle, the counts and the solution
+     *
+     * @param fileName String, the puzzle file
+     * @param out PrintStream, where everything is printed
+     * @return SolveResult, the result of the solve
+     * @throws FileNotFoundException if the puzzle file can't be read
+     */
+    public static SolveResult solve(String fileName, PrintStream out) throws FileNotFoundException {
+        out.println("File: " + fileName);
 
         HoppersConfig initConfig = new HoppersConfig(fileName);
-        System.out.print(initConfig);
+        out.print(initConfig);
 
-        ArrayList<Configuration> solution = Solver.solver(initConfig);
-        System.out.println("Total configs: " + Solver.getTotalCount());
-        System.out.println("Unique configs: " + Solver.getUniqueCount());
+        SolveResult result = new Solver().solve(initConfig);
+        List<Configuration> solution = result.getPath();
+        out.println("Total configs: " + result.getTotalCount());
+        out.println("Unique configs: " + result.getUniqueCount());
         if(solution.isEmpty()){
-            System.out.println("No solution found!");
+            out.println("No solution found!");
         } else {
-            for(int i = 0; i < solution.size(); i++){
-                System.out.println("Step " + i + ": ");
-                solution.get(i).toString();
-                System.out.println("");
-            }
+            SolutionPrinter.print(out, solution, " " + System.lineSeparator());
         }
+        return result;
     }
 }
@@ -11,6 +11,7 @@
 package puzzles.slide.gui;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -217,7 +218,7 @@ public class SlideGUI extends Application implements Observer<SlideModel, String
         //Hint button set
         Button hint = new Button();
         hint.setText("Hint");
-        hint.setOnAction(event -> this.model.hint());
+        hint.setOnAction(event -> this.model.hintAsync(Platform::runLater)); //Searches off the GUI thread
 
         this.centerStatusArea.getChildren().add(load);
         this.centerStatusArea.getChildren().add(reset);
@@ -0,0 +1,127 @@
+/**
+ * @Author: Trevor Kamen
+ * @Username: tlk1160
+ * @Class: CSCI.142
+ * @Filename: SlideBoard.java
+ * @Assignment: Project02-2
+ * @Language: Java18
+ * @Description: Slide board dimensions shared by every configuration of one puzzle
+ */
+
+package puzzles.slide.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Slide puzzle board size, made once per loaded puzzle and shared by
+ * every configuration derived from it. Never changes once made, so
+ * puzzles of different sizes can be solved on different threads.
+ * Also holds the random Zobrist keys configurations hash with, the same
+ * for every board of the same size.
+ *
+ * @author Trevor Kamen
+ */
+public class SlideBoard {
+
+    /** Row size */
+    private final int row;
+
+    /** Column size */
+    private final int column;
+
+    /** Most cells a board keeps a table of Zobrist keys for, larger boards mix keys as needed */
+    private final static int MAX_KEYED_CELLS = 256;
+
+    /** Seed of the Zobrist keys, fixed so equal boards get equal keys */
+    private final static long ZOBRIST_SEED = 0x5EED_511DEL;
+
+    /** Zobrist key of value v in cell i at index i*cells+v, null for large boards */
+    private final long[] zobrist;
+
+    /**
+     * SlideBoard constructor
+     * @param row Row size
+     * @param column Column size
+     * @pre Sizes are positive
+     * @post Board sizes set
+     */
+    public SlideBoard(int row, int column) {
+        this.row = row;
+        this.column = column;
+        int cells = row*column;
+        if (cells <= MAX_KEYED_CELLS) {
+            SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+            this.zobrist = random.longs((long) cells*cells).toArray();
+        } else {
+            this.zobrist = null;
+        }
+    }
+
+    /**
+     * Zobrist key accessor
+     * @param r Row of the cell
+     * @param c Column of the cell
+     * @param value Value in the cell
+     * @pre Cell is on the board
+     * @post Key of the value in the cell provided
+     * @return Random key, xor of the keys of every cell is the hash of a configuration
+     */
+    public long getZobrist(int r, int c, int value) {
+        int cells = row*column;
+        int cell = r*column + c;
+        if (zobrist != null && value >= 0 && value < cells) {
+            return zobrist[cell*cells + value];
+        }
+        long mixed = ZOBRIST_SEED + ((long) cell << 32 | (value & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L; //SplitMix64
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * Row size accessor
+     * @pre Board exists
+     * @post Row size provided
+     * @return Row size
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Column size accessor
+     * @pre Board exists
+     * @post Column size provided
+     * @return Column size
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Determines if boards are the same size
+     * @param other object to compare
+     * @pre Board exists
+     * @post Equality determined
+     * @return True if other is a board with the same row and column sizes, False otherwise
+     */
+    @Override
+    public boolean equals(Object other) {
+        boolean result = false;
+        if (other instanceof SlideBoard slideBoard) {
+            result = row == slideBoard.row && column == slideBoard.column;
+        }
+        return result;
+    }
+
+    /**
+     * Creates hashcode from board sizes
+     * @pre Board exists
+     * @post Hashcode created
+     * @return Hashcode of board sizes
+     */
+    @Override
+    public int hashCode() {
+        return 31 * row + column;
+    }
+}
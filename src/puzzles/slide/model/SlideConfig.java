@@ -13,29 +13,42 @@
 package puzzles.slide.model;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.EncodableConfiguration;
+import puzzles.common.solver.HeuristicConfiguration;
+import puzzles.common.solver.ReversibleConfiguration;
+import puzzles.common.solver.StorableConfiguration;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Slide puzzle rules using Configuration
  *
  * @author Trevor Kamen
  */
-public class SlideConfig implements Configuration {
+public class SlideConfig implements ReversibleConfiguration, HeuristicConfiguration, EncodableConfiguration,
+        StorableConfiguration {
 
     /** Character indicating empty cell as read from initial configuration */
     private final static String EMPTY_CELL = ".";
 
-    /** Row size */
-    private static int row;
+    /** Bits used by each cell of a packed configuration */
+    private final static int PACKED_BITS = 4;
 
-    /** Column size */
-    private static int column;
+    /** Most cells a packed configuration can hold */
+    public final static int MAX_PACKED_CELLS = Long.SIZE / PACKED_BITS;
 
-    /** Puzzle grid of values */
-    private final int[][] grid;
+    /** Board size shared by every configuration of this puzzle */
+    private final SlideBoard board;
+
+    /** Puzzle grid of values, null until a slide made by forEachNeighbor() is first looked at */
+    private volatile int[][] grid;
+
+    /** Configuration a slide was made from, null once the grid is made */
+    private SlideConfig parent;
 
     /** Row location for empty value */
     private int emptyRow;
@@ -43,6 +56,9 @@ public class SlideConfig implements Configuration {
     /** Column location for empty value */
     private int emptyColumn;
 
+    /** Zobrist hash of the grid, the xor of the board's key for each cell's value */
+    private long zobrist;
+
     /**
      * Slide constructor
      * @param filename String filename to scan values in from
@@ -52,11 +68,10 @@ public class SlideConfig implements Configuration {
     public SlideConfig(String filename) throws FileNotFoundException {
         Scanner f = new Scanner(new File(filename));
         String temp;
-        row = f.nextInt();
-        column = f.nextInt();
-        this.grid = new int[row][column];
-        for (int r = 0; r<row; r++) {
-            for (int c = 0; c<column; c++){
+        this.board = new SlideBoard(f.nextInt(), f.nextInt());
+        this.grid = new int[board.getRow()][board.getColumn()];
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++){
                 temp = f.next();
                 if (temp.equals(EMPTY_CELL)) {
                     this.emptyRow = r;
@@ -68,6 +83,7 @@ public class SlideConfig implements Configuration {
             }
         }
         f.close();
+        this.zobrist = hashGrid();
     }
 
     /**
@@ -77,12 +93,102 @@ public class SlideConfig implements Configuration {
      * @post Main field updated with determined value
      */
     public SlideConfig(SlideConfig copy) {
+        this.board = copy.board;
         this.emptyRow = copy.emptyRow;
         this.emptyColumn = copy.emptyColumn;
-        this.grid = new int[row][column];
-        for (int r=0; r<row; r++) {
-            System.arraycopy(copy.grid[r], 0, this.grid[r], 0, column);
+        int[][] source = copy.grid();
+        this.grid = new int[board.getRow()][board.getColumn()];
+        for (int r=0; r<board.getRow(); r++) {
+            System.arraycopy(source[r], 0, this.grid[r], 0, board.getColumn());
+        }
+        this.zobrist = copy.zobrist;
+    }
+
+    /**
+     * SlideConfig slide constructor, only the slide is kept until the grid is needed
+     * @param parent Configuration the slide is made from
+     * @param emptyRow Row of the tile that slides into the parent's empty cell
+     * @param emptyColumn Column of the tile that slides into the parent's empty cell
+     * @pre Tile is next to the parent's empty cell and the parent is never moved with makeMove()
+     * @post Slide recorded and hashed, grid made by grid() when first needed
+     */
+    private SlideConfig(SlideConfig parent, int emptyRow, int emptyColumn) {
+        this.board = parent.board;
+        this.parent = parent;
+        this.emptyRow = emptyRow;
+        this.emptyColumn = emptyColumn;
+        int tile = parent.grid()[emptyRow][emptyColumn];
+        this.zobrist = parent.zobrist
+                ^ board.getZobrist(emptyRow, emptyColumn, tile) ^ board.getZobrist(emptyRow, emptyColumn, 0)
+                ^ board.getZobrist(parent.emptyRow, parent.emptyColumn, 0)
+                ^ board.getZobrist(parent.emptyRow, parent.emptyColumn, tile);
+    }
+
+    /**
+     * SlideConfig goal constructor
+     * @param board Board size of the puzzle
+     * @pre Board exists
+     * @post Grid filled in ascending order with the empty cell in the bottom right corner
+     */
+    private SlideConfig(SlideBoard board) {
+        this.board = board;
+        this.grid = new int[board.getRow()][board.getColumn()];
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++) {
+                this.grid[r][c] = r*board.getColumn() + c + 1;
+            }
+        }
+        this.emptyRow = board.getRow()-1;
+        this.emptyColumn = board.getColumn()-1;
+        this.grid[this.emptyRow][this.emptyColumn] = 0;
+        this.zobrist = hashGrid();
+    }
+
+    /**
+     * SlideConfig packed constructor
+     * @param board Board size of the packed puzzle
+     * @param packed Configuration packed by pack()
+     * @pre Board exists
+     * @post Grid unpacked and empty location found
+     */
+    public SlideConfig(SlideBoard board, long packed) {
+        this.board = board;
+        this.grid = new int[board.getRow()][board.getColumn()];
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++) {
+                int value = (int) (packed >>> (PACKED_BITS * (r*board.getColumn() + c))) & 0xF;
+                if (value == 0) {
+                    this.emptyRow = r;
+                    this.emptyColumn = c;
+                }
+                this.grid[r][c] = value;
+            }
+        }
+        this.zobrist = hashGrid();
+    }
+
+    /**
+     * SlideConfig encoded constructor
+     * @param board Board size of the encoded puzzle
+     * @param buffer Buffer positioned at a configuration written by encode()
+     * @pre Board exists
+     * @post Grid decoded, empty location found and buffer moved past the configuration
+     */
+    private SlideConfig(SlideBoard board, ByteBuffer buffer) {
+        this.board = board;
+        this.grid = new int[board.getRow()][board.getColumn()];
+        boolean wide = isWide(board);
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++) {
+                int value = wide ? buffer.getShort() & 0xFFFF : buffer.get() & 0xFF;
+                if (value == 0) {
+                    this.emptyRow = r;
+                    this.emptyColumn = c;
+                }
+                this.grid[r][c] = value;
+            }
         }
+        this.zobrist = hashGrid();
     }
 
     /**
@@ -94,12 +200,12 @@ public class SlideConfig implements Configuration {
     @Override
     public boolean isSolution() {
         int tracker = 1; //so it does not conflict with empty=0
-        for (int r=0; r<row; r++) {
-            for (int c=0; c<column; c++) {
-                if (r==row-1 && c==column-1) { //break so no outofBounds occurs
+        for (int r=0; r<board.getRow(); r++) {
+            for (int c=0; c<board.getColumn(); c++) {
+                if (r==board.getRow()-1 && c==board.getColumn()-1) { //break so no outofBounds occurs
                     break;
                 }
-                if (tracker != this.grid[r][c]) {
+                if (tracker != grid()[r][c]) {
                     return false;
                 } else {
                     tracker++;
@@ -117,38 +223,216 @@ public class SlideConfig implements Configuration {
      */
     @Override
     public Collection<Configuration> getNeighbors() {
-        Collection<Configuration> neighbours = new LinkedHashSet<>();
-        int north, south, east, west;
+        Collection<Configuration> neighbours = new ArrayList<>(4);
+        forEachNeighbor(neighbours::add);
+        return neighbours;
+    }
+
+    /**
+     * Dictates puzzle rules without collecting the neighbours. Each neighbour only
+     * keeps this configuration and its slide, its grid is made when it is first needed
+     * @param sink Takes each neighbour, north, south, east then west
+     * @pre Configuration exists
+     * @post Every slide into the empty cell handed to the sink
+     */
+    @Override
+    public void forEachNeighbor(Consumer<Configuration> sink) {
         if (this.emptyRow-1 >= 0) { //create north configuration
-            SlideConfig tempConfig = new SlideConfig(this);
-            north = this.grid[this.emptyRow-1][this.emptyColumn];
-            tempConfig.grid[this.emptyRow-1][this.emptyColumn] = 0;
-            tempConfig.grid[this.emptyRow][this.emptyColumn] = north;
-            tempConfig.emptyRow = this.emptyRow-1;
-            neighbours.add(tempConfig);
-        } if (this.emptyRow +1 < row) { //create south configuration
-            SlideConfig tempConfig = new SlideConfig(this);
-            south = this.grid[this.emptyRow+1][this.emptyColumn];
-            tempConfig.grid[this.emptyRow+1][this.emptyColumn] = 0;
-            tempConfig.grid[this.emptyRow][this.emptyColumn] = south;
-            tempConfig.emptyRow = this.emptyRow+1;
-            neighbours.add(tempConfig);
+            sink.accept(new SlideConfig(this, this.emptyRow-1, this.emptyColumn));
+        } if (this.emptyRow +1 < board.getRow()) { //create south configuration
+            sink.accept(new SlideConfig(this, this.emptyRow+1, this.emptyColumn));
         } if (this.emptyColumn-1 >= 0) { //create east configuration
-            SlideConfig tempConfig = new SlideConfig(this);
-            east = this.grid[this.emptyRow][this.emptyColumn-1];
-            tempConfig.grid[this.emptyRow][this.emptyColumn-1] = 0;
-            tempConfig.grid[this.emptyRow][this.emptyColumn] = east;
-            tempConfig.emptyColumn = this.emptyColumn-1;
-            neighbours.add(tempConfig);
-        } if (this.emptyColumn+1 < column) { //create west configuration
-            SlideConfig tempConfig = new SlideConfig(this);
-            west = this.grid[this.emptyRow][this.emptyColumn+1];
-            tempConfig.grid[this.emptyRow][this.emptyColumn+1] = 0;
-            tempConfig.grid[this.emptyRow][this.emptyColumn] = west;
-            tempConfig.emptyColumn = this.emptyColumn+1;
-            neighbours.add(tempConfig);
+            sink.accept(new SlideConfig(this, this.emptyRow, this.emptyColumn-1));
+        } if (this.emptyColumn+1 < board.getColumn()) { //create west configuration
+            sink.accept(new SlideConfig(this, this.emptyRow, this.emptyColumn+1));
         }
-        return neighbours;
+    }
+
+    /**
+     * Estimates remaining slides using Manhattan distance plus linear conflict
+     * @pre Configuration exists
+     * @post Lower bound on remaining slides determined
+     * @return Sum of every tile's row and column distance from its goal, plus two slides for
+     *         each tile that has to step out of its goal row or column to let another tile past
+     */
+    @Override
+    public int heuristic() {
+        int row = board.getRow();
+        int column = board.getColumn();
+        int distance = 0;
+        int[] line = new int[Math.max(row, column)];
+        for (int r = 0; r<row; r++) { //row distances and conflicts
+            int inLine = 0;
+            for (int c = 0; c<column; c++) {
+                int value = grid()[r][c];
+                if (value != 0) {
+                    int goalRow = (value-1) / column;
+                    int goalColumn = (value-1) % column;
+                    distance += Math.abs(goalRow - r) + Math.abs(goalColumn - c);
+                    if (goalRow == r) {
+                        line[inLine++] = goalColumn;
+                    }
+                }
+            }
+            distance += 2 * (inLine - longestIncreasing(line, inLine));
+        }
+        for (int c = 0; c<column; c++) { //column conflicts
+            int inLine = 0;
+            for (int r = 0; r<row; r++) {
+                int value = grid()[r][c];
+                if (value != 0 && (value-1) % column == c) {
+                    line[inLine++] = (value-1) / column;
+                }
+            }
+            distance += 2 * (inLine - longestIncreasing(line, inLine));
+        }
+        return distance;
+    }
+
+    /**
+     * Determines the most tiles of a row or column that are already in order
+     * @param goals Goal positions of the tiles in the line, in their current order
+     * @param length Number of tiles in the line
+     * @pre Goal positions are distinct
+     * @post Longest increasing subsequence length determined
+     * @return Length of the longest increasing run of goal positions
+     */
+    private static int longestIncreasing(int[] goals, int length) {
+        int[] tails = new int[length];
+        int longest = 0;
+        for (int i = 0; i<length; i++) {
+            int low = 0;
+            int high = longest;
+            while (low < high) {
+                int middle = (low + high) / 2;
+                if (tails[middle] < goals[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            tails[low] = goals[i];
+            if (low == longest) {
+                longest++;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Determines if the configuration fits in a single long
+     * @pre Configuration exists
+     * @post Packing ability determined
+     * @return True if there are at most 16 cells holding each value from 0 to cells-1 once, False otherwise
+     */
+    public boolean isPackable() {
+        int cells = board.getRow()*board.getColumn();
+        if (cells > MAX_PACKED_CELLS) {
+            return false;
+        }
+        boolean[] seen = new boolean[cells];
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++) {
+                int value = grid()[r][c];
+                if (value < 0 || value >= cells || seen[value]) {
+                    return false;
+                }
+                seen[value] = true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs the configuration into a single long, four bits per cell
+     * @pre Configuration is packable
+     * @post Packed configuration created
+     * @return Long holding the value of cell r*column+c in bits 4*(r*column+c) and up
+     */
+    public long pack() {
+        long packed = 0;
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++) {
+                packed |= (long) grid()[r][c] << (PACKED_BITS * (r*board.getColumn() + c));
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Determines if cells take two bytes when encoded
+     * @param board Board size of the puzzle
+     * @pre Board exists
+     * @post Cell width determined
+     * @return True if the board has more cells than values fit in a byte, False otherwise
+     */
+    private static boolean isWide(SlideBoard board) {
+        return board.getRow()*board.getColumn() > 0x100;
+    }
+
+    /**
+     * Encoded width accessor
+     * @pre Board exists
+     * @post Width of every encoded configuration of this puzzle provided
+     * @return One byte per cell, two when the board has more than 256 cells
+     */
+    @Override
+    public int getEncodedWidth() {
+        return board.getRow()*board.getColumn() * (isWide(board) ? Short.BYTES : Byte.BYTES);
+    }
+
+    /**
+     * Writes the configuration into a buffer, cell r*column+c at byte (or short) r*column+c
+     * @param buffer Buffer with at least getEncodedWidth() bytes remaining
+     * @pre Every value is between 0 and the number of cells - 1
+     * @post Configuration written and buffer moved past it
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        boolean wide = isWide(board);
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++) {
+                if (wide) {
+                    buffer.putShort((short) grid()[r][c]);
+                } else {
+                    buffer.put((byte) grid()[r][c]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a configuration of this puzzle from a buffer
+     * @param buffer Buffer positioned at a configuration written by encode()
+     * @pre Configuration exists
+     * @post Buffer moved past the configuration
+     * @return Configuration the bytes stand for
+     */
+    @Override
+    public SlideConfig decode(ByteBuffer buffer) {
+        return new SlideConfig(this.board, buffer);
+    }
+
+    /**
+     * Dictates puzzle rules in reverse
+     * @pre Copy constructor, configuration exists
+     * @post Previous paths determined
+     * @return neighbours - every slide can be undone, so the paths back are the paths forward
+     */
+    @Override
+    public Collection<Configuration> getPredecessors() {
+        return getNeighbors();
+    }
+
+    /**
+     * Creates the solved configuration for the current puzzle size
+     * @pre Row and column sizes exist
+     * @post Goal configuration created
+     * @return Configuration with ascending values and the empty cell in the bottom right corner
+     */
+    @Override
+    public SlideConfig getGoal() {
+        return new SlideConfig(this.board);
     }
 
     /**
@@ -162,20 +446,90 @@ public class SlideConfig implements Configuration {
     public boolean equals(Object other) {
         boolean result = false;
         if (other instanceof SlideConfig slideConfig) {
-            result = Arrays.deepEquals(grid, slideConfig.grid);
+            result = zobrist == slideConfig.zobrist && Arrays.deepEquals(grid(), slideConfig.grid());
         }
         return result;
     }
 
     /**
-     * Creates hashcode from configuration field
+     * Creates hashcode from the Zobrist hash kept up to date by every move
      * @pre Required field exists
      * @post Hashcode created
      * @return Hashcode of current configuration
      */
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(grid);
+        return (int) (zobrist ^ (zobrist >>> 32));
+    }
+
+    /**
+     * Grid accessor, makes the grid of a slide from its parent's the first time it is needed
+     * @pre Configuration exists
+     * @post Grid made and parent let go, so chains of slides never pile up
+     * @return Puzzle grid of values
+     */
+    private int[][] grid() {
+        int[][] cells = this.grid;
+        if (cells == null) {
+            synchronized (this) { //solvers may share configurations between threads
+                cells = this.grid;
+                if (cells == null) {
+                    int[][] from = parent.grid();
+                    cells = new int[board.getRow()][];
+                    for (int r = 0; r<board.getRow(); r++) {
+                        cells[r] = from[r].clone();
+                    }
+                    cells[parent.emptyRow][parent.emptyColumn] = cells[this.emptyRow][this.emptyColumn];
+                    cells[this.emptyRow][this.emptyColumn] = 0;
+                    this.grid = cells;
+                    this.parent = null;
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Computes the Zobrist hash of the whole grid
+     * @pre Grid filled in
+     * @post Hash computed
+     * @return Xor of the board's key for the value of every cell
+     */
+    private long hashGrid() {
+        long hash = 0;
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++) {
+                hash ^= board.getZobrist(r, c, grid()[r][c]);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Updates the Zobrist hash for two cells about to swap values, in O(1)
+     * @param firstRow Row of the first cell
+     * @param firstColumn Column of the first cell
+     * @param secondRow Row of the second cell
+     * @param secondColumn Column of the second cell
+     * @pre Cells still hold their values from before the swap
+     * @post Hash matches the grid once the values are swapped
+     */
+    private void rehashSwap(int firstRow, int firstColumn, int secondRow, int secondColumn) {
+        int first = grid()[firstRow][firstColumn];
+        int second = grid()[secondRow][secondColumn];
+        this.zobrist ^= board.getZobrist(firstRow, firstColumn, first) ^ board.getZobrist(firstRow, firstColumn, second)
+                ^ board.getZobrist(secondRow, secondColumn, second) ^ board.getZobrist(secondRow, secondColumn, first);
+    }
+
+    /**
+     * Describes the puzzle and the state it is in
+     * @pre Configuration exists
+     * @post Grid unchanged
+     * @return Every row of the grid, which gives the board size and the tiles
+     */
+    @Override
+    public String describe() {
+        return Arrays.deepToString(grid());
     }
 
     /**
@@ -187,9 +541,9 @@ public class SlideConfig implements Configuration {
     @Override
     public String toString() {
         StringBuilder output = new StringBuilder();
-        for (int r = 0; r<row; r++) {
-            for (int c = 0; c<column; c++) {
-                int current = this.grid[r][c];
+        for (int r = 0; r<board.getRow(); r++) {
+            for (int c = 0; c<board.getColumn(); c++) {
+                int current = grid()[r][c];
                 if (current < 10) {
                     output.append(" ");
                 }
@@ -217,8 +571,8 @@ public class SlideConfig implements Configuration {
      */
     public boolean isOutofBounds(int r, int c) {
         boolean invalid = false;
-        if (!(((r >= 0) && (r < row))
-                || ((c >= 0) && (c < column)))) {
+        if (!(((r >= 0) && (r < board.getRow()))
+                || ((c >= 0) && (c < board.getColumn())))) {
             return true;
         }
         return invalid;
@@ -250,8 +604,8 @@ public class SlideConfig implements Configuration {
         boolean valid = false;
         int changeInRow = secondRow - firstRow;
         int changeInCol = secondColumn - firstColumn;
-        if (secondColumn >= 0 && secondColumn < column && secondRow >= 0 && secondRow < row) {
-            if (this.grid[secondRow][secondColumn] == 0) {
+        if (secondColumn >= 0 && secondColumn < board.getColumn() && secondRow >= 0 && secondRow < board.getRow()) {
+            if (grid()[secondRow][secondColumn] == 0) {
                 if ((changeInRow == -1 ^ changeInCol == 1) ^ (changeInCol == -1 ^ changeInRow == 1)) { //XOR
                     valid = true;
                 }
@@ -266,13 +620,25 @@ public class SlideConfig implements Configuration {
      * @post Configuration updated to reflect user input
      */
     public void makeMove(int firstRow, int firstCol, int secondRow, int secondCol) {
-        int tempSave = this.grid[firstRow][firstCol];
+        rehashSwap(firstRow, firstCol, secondRow, secondCol);
+        int[][] grid = grid();
+        int tempSave = grid[firstRow][firstCol];
         grid[firstRow][firstCol] = grid[secondRow][secondCol];
         grid[secondRow][secondCol] = tempSave;
         this.emptyRow = firstRow;
         this.emptyColumn = firstCol;
     }
 
+    /**
+     * Board accessor
+     * @pre Current configuration field exists
+     * @post Board shared by every configuration of this puzzle provided
+     * @return Board size of the current configuration
+     */
+    public SlideBoard getBoard() {
+        return this.board;
+    }
+
     /**
      * Row size accessor
      * @pre Current configuration field exists
@@ -280,7 +646,7 @@ public class SlideConfig implements Configuration {
      * @return Row size
      */
     public int getRow() {
-        return row;
+        return board.getRow();
     }
 
     /**
@@ -290,7 +656,7 @@ public class SlideConfig implements Configuration {
      * @return Column size
      */
     public int getColumn() {
-        return column;
+        return board.getColumn();
     }
 
     /**
@@ -302,7 +668,7 @@ public class SlideConfig implements Configuration {
      * @return Grid value at specified coordinates
      */
     public int getGrid(int r, int c) {
-        return grid[r][c];
+        return grid()[r][c];
     }
 
     /**
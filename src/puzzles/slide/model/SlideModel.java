@@ -12,11 +12,13 @@ package puzzles.slide.model;
 
 import puzzles.common.Observer;
 import puzzles.common.solver.Solver;
-import puzzles.common.solver.Configuration;
+import puzzles.common.solver.HintCache;
+import puzzles.common.solver.HintSearch;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 /**
  * Slide model for model-view-controller method
@@ -28,6 +30,12 @@ public class SlideModel {
     /** the collection of observers of this model */
     private final List<Observer<SlideModel, String>> observers = new LinkedList<>();
 
+    /** The solver used for hints, it keeps no state between solves */
+    private final Solver solver = new Solver();
+
+    /** The hints found so far, shared by every slide model */
+    private static final HintCache HINTS = new HintCache(100_000);
+
     /** Game Status enums to manage game over states */
     public enum Status {
         NOT_OVER,
@@ -52,6 +60,9 @@ public class SlideModel {
     /** Stores first provided filename for reset and later display */
     private String filename;
 
+    /** The hint being searched for in the background, null if there is none */
+    private HintSearch hintSearch;
+
     /**
      * The view calls this to add itself as an observer.
      *
@@ -89,21 +100,86 @@ public class SlideModel {
     /**
      * Provides hint for current configuration puzzle state
      * @pre Configuration exists and solver exists
-     * @post Determines the shortest path to solve for configuration and provides next step
+     * @post Determines the shortest path to solve for configuration and provides next step,
+     * every step of the path is cached for later hints
      */
     public void hint(){
-        ArrayList<Configuration> solution = Solver.solver(this.currentConfig);
         if (this.currentConfig.isSolution()) {
             alertObservers("Already solved!");
             this.status = Status.WON;
-        } else if (!solution.isEmpty()) {
-            this.currentConfig = (SlideConfig) solution.get(1);
+            return;
+        }
+        showHint(HINTS.hint(new SlideConfig(this.currentConfig), solver));
+    }
+
+    /**
+     * Provides hint for current configuration puzzle state without blocking the caller,
+     * solving runs on a background thread and search progress and the hint are sent to
+     * observers through the given executor (Platform::runLater for the GUI)
+     * @param observerThread Executor that runs the observer updates
+     * @pre Configuration exists and solver exists
+     * @post Background search started, or the current search is left to finish. The hint is
+     * dropped if the puzzle is loaded, reset or moved before it is found, and a failed search is
+     * reported to observers
+     */
+    public void hintAsync(Executor observerThread) {
+        if (this.currentConfig.isSolution()) {
+            alertObservers("Already solved!");
+            this.status = Status.WON;
+            return;
+        }
+        if (this.hintSearch != null) {
+            alertObservers("Still searching for a hint...");
+            return;
+        }
+        SlideConfig start = new SlideConfig(this.currentConfig);
+        HintSearch search = new HintSearch(HINTS, solver, start, observerThread,
+                (expanded, frontier) -> alertObservers("Searching: " + expanded + " checked, "
+                        + frontier + " waiting"),
+                hint -> {
+                    this.hintSearch = null;
+                    if (this.currentConfig.equals(start)) {
+                        showHint(hint);
+                    } else {
+                        alertObservers("Puzzle changed, hint dropped.");
+                    }
+                },
+                problem -> {
+                    this.hintSearch = null;
+                    alertObservers("Hint search failed: " + problem);
+                });
+        this.hintSearch = search;
+        alertObservers("Searching for a hint...");
+        search.start();
+    }
+
+    /**
+     * Moves the current configuration to the next step of a hint
+     * @param hint Hint for the current configuration
+     * @pre Hint was found for the current configuration
+     * @post Current configuration is a copy of the next step, cached steps are never moved
+     */
+    private void showHint(HintCache.Hint hint) {
+        if (hint.isSolvable()) {
+            this.currentConfig = new SlideConfig((SlideConfig) hint.getNext());
             alertObservers("Next step!");
         } else {
             alertObservers("Not Solvable!");
         }
     }
 
+    /**
+     * Cancels the background hint search
+     * @pre None
+     * @post No hint search is running for this model
+     */
+    private void cancelHint() {
+        if (this.hintSearch != null) {
+            this.hintSearch.cancel();
+            this.hintSearch = null;
+        }
+    }
+
     /**
      * Loads file for configuration
      * @param filename File path to load new configuration from
@@ -111,6 +187,7 @@ public class SlideModel {
      * @post Puzzle updated
      */
     public void load(String filename){
+        cancelHint();
         try{
             this.currentConfig = new SlideConfig(filename);
             this.filename = filename;
@@ -127,6 +204,7 @@ public class SlideModel {
      * @post Puzzle reloaded using past file
      */
     public void reset(){
+        cancelHint();
         try{
             this.currentConfig = new SlideConfig(this.filename);
             alertObservers("Puzzle: " + this.filename + " Reset!");
@@ -163,6 +241,7 @@ public class SlideModel {
                 alertObservers("Can't move from (" + this.firstSelectRow + ", " + this.firstSelectColumn + ") to ("
                         + row + ", " + col + ")");
             } else {
+                cancelHint();
                 this.currentConfig.makeMove(this.firstSelectRow, this.firstSelectColumn, row, col);
                 alertObservers("Moved from (" + this.firstSelectRow + ", " + this.firstSelectColumn + ") to ("
                         + row + ", " + col + ")");
@@ -226,4 +305,14 @@ public class SlideModel {
     public SlideConfig getCurrentConfig() {
         return this.currentConfig;
     }
+
+    /**
+     * Provides the hint cache shared by every slide model
+     * @pre Hint cache exists
+     * @post Hint cache provided for its hit and miss counts
+     * @return Shared hint cache
+     */
+    public static HintCache getHintCache() {
+        return HINTS;
+    }
 }
@@ -0,0 +1,296 @@
+/**
+ * @Author: Trevor Kamen
+ * @Username: tlk1160
+ * @Class: CSCI.142
+ * @Filename: PackedSlideSolver.java
+ * @Assignment: Project02-2
+ * @Language: Java18
+ * @Description: BFS over slide configurations packed into longs
+ */
+
+package puzzles.slide.solver;
+
+import puzzles.common.solver.LongLongMap;
+import puzzles.common.solver.SolutionPath;
+import puzzles.common.solver.SolveResult;
+import puzzles.slide.model.SlideConfig;
+
+import java.util.Arrays;
+
+/**
+ * Slide solver that keeps every configuration as a packed long
+ *
+ * @author Trevor Kamen
+ */
+public class PackedSlideSolver {
+
+    /** Predecessor of the initial configuration, no packed configuration repeats every cell value */
+    private final static long NO_PREDECESSOR = -1L;
+
+    /** Bits used by each cell of a packed configuration */
+    private final static int BITS = 4;
+
+    /**
+     * Solves the puzzle using BFS over packed configurations. Neighbours are made in
+     * the same order as SlideConfig.getNeighbors(), so the path and counts match Solver.solver().
+     * @param start Initial configuration, must be packable
+     * @pre SlideConfig.isPackable() is true for start
+     * @post Search completed
+     * @return Configurations that lead to the solution in order, empty if there is none, and the counts of the search
+     */
+    public static SolveResult solve(SlideConfig start) {
+        long startTime = System.nanoTime();
+        int row = start.getRow();
+        int column = start.getColumn();
+        long goal = start.getGoal().pack();
+
+        LongLongMap predecessor = new LongLongMap(1024); //packed configuration to the one before it
+        long[] queue = new long[1024]; //every unique configuration in the order found
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start.pack();
+        predecessor.putIfAbsent(queue[0], NO_PREDECESSOR);
+
+        int totalConfig = 1;
+        int peakFrontier = 1;
+        while (head < tail && queue[head] != goal) {
+            long current = queue[head++];
+            int empty = emptyCell(current);
+            int emptyRow = empty / column;
+            int emptyColumn = empty % column;
+            int[] moves = {
+                    emptyRow-1 >= 0 ? empty-column : -1, //north
+                    emptyRow+1 < row ? empty+column : -1, //south
+                    emptyColumn-1 >= 0 ? empty-1 : -1, //east
+                    emptyColumn+1 < column ? empty+1 : -1 //west
+            };
+            for (int cell : moves) {
+                if (cell >= 0) {
+                    totalConfig++;
+                    long tile = (current >>> (BITS*cell)) & 0xF;
+                    long neighbour = (current & ~(0xFL << (BITS*cell))) | (tile << (BITS*empty));
+                    if (predecessor.putIfAbsent(neighbour, current)) {
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, queue.length * 2);
+                        }
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+            peakFrontier = Math.max(peakFrontier, tail - head);
+        }
+
+        SolutionPath path = SolutionPath.EMPTY;
+        if (head < tail) { //counts the steps back from the goal then fills them in from the end
+            int size = 0;
+            for (long packed = queue[head]; packed != NO_PREDECESSOR;
+                 packed = predecessor.get(packed, NO_PREDECESSOR)) {
+                size++;
+            }
+            long[] steps = new long[size];
+            for (long packed = queue[head]; packed != NO_PREDECESSOR;
+                 packed = predecessor.get(packed, NO_PREDECESSOR)) {
+                steps[--size] = packed;
+            }
+            path = new SolutionPath(steps.length, step -> new SlideConfig(start.getBoard(), steps[step])); //unpacked when asked for
+        }
+        return new SolveResult(path, totalConfig, predecessor.size(), peakFrontier, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Solves the puzzle using iterative deepening A* over packed configurations with a
+     * pattern database heuristic. Each pass is a depth first search that gives up once the
+     * slides made plus the estimate go over the bound, only the group of the tile that
+     * slid is looked up again, and a slide is never undone right away. Puzzles the parity
+     * of the tiles rules out are answered without searching
+     * @param start Initial configuration, must be packable
+     * @param database Pattern database for the board size of start
+     * @pre SlideConfig.isPackable() is true for start
+     * @post Search completed
+     * @return Configurations that lead to the solution in order, empty if there is none, and the
+     *         counts of the search: unique is the configurations expanded and peak frontier the deepest path
+     */
+    public static SolveResult solveIdaStar(SlideConfig start, PatternDatabase database) {
+        long startTime = System.nanoTime();
+        long packed = start.pack();
+        if (!solvable(packed, start.getRow(), start.getColumn())) {
+            return new SolveResult(SolutionPath.EMPTY, 1, 0, 1, System.nanoTime() - startTime);
+        }
+        IdaSearch search = new IdaSearch(start, database);
+        int estimate = database.lookup(packed);
+        int bound = estimate;
+        while (bound != IdaSearch.FOUND) {
+            search.path = Arrays.copyOf(search.path, Math.max(search.path.length, bound + 1));
+            bound = search.search(packed, emptyCell(packed), -1, 0, estimate, bound);
+        }
+        long[] steps = Arrays.copyOf(search.path, search.length);
+        SolutionPath path = new SolutionPath(steps.length, step -> new SlideConfig(start.getBoard(), steps[step]));
+        return new SolveResult(path, search.totalConfig, search.expanded, search.deepest,
+                System.nanoTime() - startTime);
+    }
+
+    /**
+     * Determines if a packed configuration can reach the goal. On boards with an odd number
+     * of columns every slide keeps the parity of the tile inversions, on boards with an even
+     * number it keeps the parity of the inversions plus the empty cell's row, and on boards a
+     * single cell wide the tiles can never pass each other
+     * @param packed Packed configuration
+     * @param row Row dimension
+     * @param column Column dimension
+     * @pre Configuration holds each value from 0 to cells-1 once
+     * @post Solvability determined
+     * @return True if the goal can be reached, False otherwise
+     */
+    private static boolean solvable(long packed, int row, int column) {
+        int cells = row*column;
+        int inversions = 0;
+        int emptyRow = 0;
+        for (int cell = 0; cell<cells; cell++) {
+            long tile = (packed >>> (BITS*cell)) & 0xF;
+            if (tile == 0) {
+                emptyRow = cell / column;
+                continue;
+            }
+            for (int later = cell+1; later<cells; later++) {
+                long other = (packed >>> (BITS*later)) & 0xF;
+                if (other != 0 && other < tile) {
+                    inversions++;
+                }
+            }
+        }
+        if (row == 1 || column == 1) {
+            return inversions == 0;
+        }
+        if (column % 2 == 1) {
+            return inversions % 2 == 0;
+        }
+        return (inversions + (row-1 - emptyRow)) % 2 == 0;
+    }
+
+    /**
+     * Finds the empty cell of a packed configuration
+     * @param packed Packed configuration
+     * @pre Configuration holds a single empty cell
+     * @post Empty cell located
+     * @return Index r*column+c of the empty cell
+     */
+    private static int emptyCell(long packed) {
+        int cell = 0;
+        while (((packed >>> (BITS*cell)) & 0xF) != 0) {
+            cell++;
+        }
+        return cell;
+    }
+
+    /**
+     * State of a packed iterative deepening A* search, the path being tried,
+     * each group's table index and the counts of the search
+     */
+    private static class IdaSearch {
+
+        /** Returned by search when the goal is found */
+        private final static int FOUND = -1;
+
+        /** Row dimension */
+        private final int row;
+
+        /** Column dimension */
+        private final int column;
+
+        /** Packed goal configuration */
+        private final long goal;
+
+        /** Pattern database the estimates come from */
+        private final PatternDatabase database;
+
+        /** Table index of each group for the configuration being tried */
+        private final int[] indices;
+
+        /** Packed configurations from the start to the one being tried */
+        private long[] path = new long[0];
+
+        /** Configurations on the path once the goal is found */
+        private int length;
+
+        /** Total configurations made */
+        private int totalConfig = 1;
+
+        /** Configurations expanded */
+        private int expanded = 0;
+
+        /** Longest path tried */
+        private int deepest = 1;
+
+        /**
+         * Search constructor
+         * @param start Initial configuration
+         * @param database Pattern database for the board size of start
+         * @pre Start is packable
+         * @post Search ready with the start's group indices
+         */
+        private IdaSearch(SlideConfig start, PatternDatabase database) {
+            this.row = start.getRow();
+            this.column = start.getColumn();
+            this.goal = start.getGoal().pack();
+            this.database = database;
+            this.indices = database.indices(start.pack());
+        }
+
+        /**
+         * Searches depth first from a configuration
+         * @param current Packed configuration being tried
+         * @param empty Empty cell of current
+         * @param previousEmpty Empty cell before the last slide, -1 at the start
+         * @param moves Slides made to reach current
+         * @param estimate Pattern database estimate of current
+         * @param bound Most total slides a configuration may be estimated at
+         * @pre Indices match current
+         * @post Path holds the solution if found, indices match current otherwise
+         * @return FOUND if solved, otherwise the smallest estimate over the bound
+         */
+        private int search(long current, int empty, int previousEmpty, int moves, int estimate, int bound) {
+            int total = moves + estimate;
+            if (total > bound) {
+                return total;
+            }
+            path[moves] = current;
+            if (current == goal) {
+                length = moves + 1;
+                return FOUND;
+            }
+            expanded++;
+            deepest = Math.max(deepest, moves + 1);
+            int emptyRow = empty / column;
+            int emptyColumn = empty % column;
+            int[] slides = {
+                    emptyRow-1 >= 0 ? empty-column : -1, //north
+                    emptyRow+1 < row ? empty+column : -1, //south
+                    emptyColumn-1 >= 0 ? empty-1 : -1, //east
+                    emptyColumn+1 < column ? empty+1 : -1 //west
+            };
+            int smallest = Integer.MAX_VALUE;
+            for (int cell : slides) {
+                if (cell < 0) {
+                    continue;
+                }
+                totalConfig++;
+                if (cell == previousEmpty) { //undoes the last slide
+                    continue;
+                }
+                int tile = (int) (current >>> (BITS*cell)) & 0xF;
+                long neighbour = (current & ~(0xFL << (BITS*cell))) | ((long) tile << (BITS*empty));
+                int group = database.getGroup(tile);
+                int before = indices[group];
+                indices[group] = before + (empty - cell) * database.getWeight(tile);
+                int next = search(neighbour, cell, empty, moves + 1,
+                        estimate - database.get(group, before) + database.get(group, indices[group]), bound);
+                if (next == FOUND) {
+                    return FOUND;
+                }
+                indices[group] = before;
+                smallest = Math.min(smallest, next);
+            }
+            return smallest;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+/**
+ * @Author: Trevor Kamen
+ * @Username: tlk1160
+ * @Class: CSCI.142
+ * @Filename: PatternDatabase.java
+ * @Assignment: Project02-2
+ * @Language: Java18
+ * @Description: Additive pattern database heuristic for slide puzzles
+ */
+
+package puzzles.slide.solver;
+
+import puzzles.slide.model.SlideBoard;
+import puzzles.slide.model.SlideConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Additive pattern database for a slide board size. The tiles are split into
+ * groups, and for every placement of a group's tiles the table holds the fewest
+ * slides of that group's tiles needed to bring them home, found by a breadth first
+ * search back from the goal where sliding any other tile is free. No slide moves
+ * tiles of two groups, so the group values add up to a lower bound on the slides left.
+ * Tables are built once per board size, saved to a file and memory mapped from it.
+ *
+ * File format, big endian: magic "SPDB", version, rows, columns, group count, then
+ * each group's tile count and tiles, then each group's table of cells^tiles bytes
+ * indexed by the sum of each tile's cell times cells^(its place in the group).
+ *
+ * @author Trevor Kamen
+ */
+public class PatternDatabase {
+
+    /** File magic, the letters SPDB */
+    private final static int MAGIC = 0x53504442;
+
+    /** File format version, raised whenever the layout or grouping changes */
+    private final static int VERSION = 1;
+
+    /** Most states a group search may index, tiles and empty cell together */
+    private final static int MAX_SEARCH_STATES = 1 << 24;
+
+    /** Byte marking a state the group search has not reached */
+    private final static int UNSEEN = 0xFF;
+
+    /** Directory pattern databases are kept in unless the slide.pdb.dir property names another */
+    private final static String DEFAULT_DIRECTORY = "pdb";
+
+    /** Board size the tables are for */
+    private final SlideBoard board;
+
+    /** Tiles of each group */
+    private final int[][] groups;
+
+    /** Mapped file holding the tables */
+    private final MappedByteBuffer tables;
+
+    /** Position of each group's table in the mapped file */
+    private final int[] offsets;
+
+    /** Group of each tile */
+    private final int[] groupOf;
+
+    /** Amount each tile adds to its group's index per cell, cells^(its place in the group) */
+    private final int[] weightOf;
+
+    /**
+     * Pattern database constructor from a mapped file
+     * @param board Board size of the tables
+     * @param groups Tiles of each group
+     * @param tables Mapped file
+     * @param offsets Position of each group's table in the file
+     * @pre File header matches the board and groups
+     * @post Pattern database ready for lookups
+     */
+    private PatternDatabase(SlideBoard board, int[][] groups, MappedByteBuffer tables, int[] offsets) {
+        this.board = board;
+        this.groups = groups;
+        this.tables = tables;
+        this.offsets = offsets;
+        int cells = board.getRow()*board.getColumn();
+        this.groupOf = new int[cells];
+        this.weightOf = new int[cells];
+        for (int g = 0; g<groups.length; g++) {
+            for (int i = 0; i<groups[g].length; i++) {
+                this.groupOf[groups[g][i]] = g;
+                this.weightOf[groups[g][i]] = power(cells, i);
+            }
+        }
+    }
+
+    /**
+     * Opens the pattern database for a board size, building and saving it first if
+     * there is no file for the size yet or the file is from another version
+     * @param board Board size
+     * @pre Board has at most SlideConfig.MAX_PACKED_CELLS cells
+     * @post Pattern database mapped from slide.pdb.dir (default pdb) / slide-RxC.pdb
+     * @return Pattern database for the board size
+     * @throws IOException If the file can't be written or read
+     */
+    public static PatternDatabase forBoard(SlideBoard board) throws IOException {
+        Path file = Paths.get(System.getProperty("slide.pdb.dir", DEFAULT_DIRECTORY),
+                "slide-" + board.getRow() + "x" + board.getColumn() + ".pdb");
+        if (Files.exists(file)) {
+            try {
+                return open(file, board);
+            } catch (IOException stale) { //rebuilt below
+            }
+        }
+        build(board, file);
+        return open(file, board);
+    }
+
+    /**
+     * Builds the tables for a board size and saves them to a file
+     * @param board Board size
+     * @param file File to write, replaced whole once every table is built
+     * @pre Board has at most SlideConfig.MAX_PACKED_CELLS cells
+     * @post File holds the header and every group's table
+     * @throws IOException If the file can't be written
+     */
+    public static void build(SlideBoard board, Path file) throws IOException {
+        int[][] groups = groupsFor(board);
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(board.getRow());
+            out.writeInt(board.getColumn());
+            out.writeInt(groups.length);
+            for (int[] group : groups) {
+                out.writeInt(group.length);
+                for (int tile : group) {
+                    out.writeInt(tile);
+                }
+            }
+            for (int[] group : groups) {
+                writeTable(out, board, group);
+            }
+        } catch (IOException failed) {
+            Files.deleteIfExists(temp);
+            throw failed;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory maps a pattern database file
+     * @param file File written by build
+     * @param board Board size the file has to be for
+     * @pre File exists
+     * @post File mapped read only
+     * @return Pattern database backed by the file
+     * @throws IOException If the file can't be read or is not a pattern database of this version for the board
+     */
+    public static PatternDatabase open(Path file, SlideBoard board) throws IOException {
+        MappedByteBuffer tables;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            tables = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int[][] groups = groupsFor(board);
+        int cells = board.getRow()*board.getColumn();
+        if (tables.remaining() < 5*Integer.BYTES || tables.getInt() != MAGIC || tables.getInt() != VERSION
+                || tables.getInt() != board.getRow() || tables.getInt() != board.getColumn()
+                || tables.getInt() != groups.length) {
+            throw new IOException(file + " is not a version " + VERSION + " pattern database for "
+                    + board.getRow() + "x" + board.getColumn());
+        }
+        for (int[] group : groups) {
+            if (tables.getInt() != group.length) {
+                throw new IOException(file + " groups don't match");
+            }
+            for (int tile : group) {
+                if (tables.getInt() != tile) {
+                    throw new IOException(file + " groups don't match");
+                }
+            }
+        }
+        int[] offsets = new int[groups.length];
+        int offset = tables.position();
+        for (int g = 0; g<groups.length; g++) {
+            offsets[g] = offset;
+            offset += power(cells, groups[g].length);
+        }
+        if (offset != tables.capacity()) {
+            throw new IOException(file + " is " + tables.capacity() + " bytes, expected " + offset);
+        }
+        return new PatternDatabase(board, groups, tables, offsets);
+    }
+
+    /**
+     * Estimates remaining slides of a configuration
+     * @param config Configuration of this database's board size
+     * @pre Configuration is packable
+     * @post Lower bound on remaining slides determined
+     * @return Larger of the pattern database sum and the Manhattan distance plus linear conflict
+     */
+    public int heuristic(SlideConfig config) {
+        return Math.max(lookup(config.pack()), config.heuristic());
+    }
+
+    /**
+     * Sums the group tables for a packed configuration
+     * @param packed Configuration packed by SlideConfig.pack()
+     * @pre Configuration is of this database's board size
+     * @post Pattern database estimate determined
+     * @return Sum over the groups of the fewest slides of the group's tiles left
+     */
+    public int lookup(long packed) {
+        int[] indices = indices(packed);
+        int estimate = 0;
+        for (int g = 0; g<groups.length; g++) {
+            estimate += get(g, indices[g]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Finds each group's table index for a packed configuration
+     * @param packed Configuration packed by SlideConfig.pack()
+     * @pre Configuration is of this database's board size
+     * @post Indices determined
+     * @return Table index of each group
+     */
+    public int[] indices(long packed) {
+        int[] indices = new int[groups.length];
+        for (int cell = 0; cell<board.getRow()*board.getColumn(); cell++) {
+            int tile = (int) (packed >>> (4*cell)) & 0xF;
+            if (tile != 0) {
+                indices[groupOf[tile]] += cell * weightOf[tile];
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Reads a group's table
+     * @param group Group number
+     * @param index Table index of the group's tiles
+     * @pre Index is a placement that can happen
+     * @post Table value read
+     * @return Fewest slides of the group's tiles left
+     */
+    public int get(int group, int index) {
+        return tables.get(offsets[group] + index) & 0xFF;
+    }
+
+    /**
+     * Group accessor
+     * @param tile Tile from 1 to cells-1
+     * @pre Tile exists on the board
+     * @post Group provided
+     * @return Group holding the tile
+     */
+    public int getGroup(int tile) {
+        return groupOf[tile];
+    }
+
+    /**
+     * Weight accessor, a tile sliding from one cell to another changes its group's
+     * index by the difference of the cells times the tile's weight
+     * @param tile Tile from 1 to cells-1
+     * @pre Tile exists on the board
+     * @post Weight provided
+     * @return cells^(the tile's place in its group)
+     */
+    public int getWeight(int tile) {
+        return weightOf[tile];
+    }
+
+    /**
+     * Board accessor
+     * @pre Board exists
+     * @post Board provided
+     * @return Board size the tables are for
+     */
+    public SlideBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Splits the tiles of a board into groups in order, each as large as the
+     * search state limit allows
+     * @param board Board size
+     * @pre Board has at most SlideConfig.MAX_PACKED_CELLS cells
+     * @post Groups determined
+     * @return Tiles of each group, every tile from 1 to cells-1 once
+     */
+    private static int[][] groupsFor(SlideBoard board) {
+        int cells = board.getRow()*board.getColumn();
+        if (cells > SlideConfig.MAX_PACKED_CELLS) {
+            throw new IllegalArgumentException("Pattern databases need at most " + SlideConfig.MAX_PACKED_CELLS
+                    + " cells, not " + cells);
+        }
+        int size = 1;
+        while (size < cells-1 && (long) power(cells, size+2) <= MAX_SEARCH_STATES) {
+            size++;
+        }
+        int[][] groups = new int[(cells-1 + size-1) / size][];
+        for (int g = 0; g<groups.length; g++) {
+            groups[g] = new int[Math.min(size, cells-1 - g*size)];
+            for (int i = 0; i<groups[g].length; i++) {
+                groups[g][i] = g*size + i + 1;
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Finds the fewest group slides for every placement of a group and writes the table.
+     * Searches outward from the goal over the group's tiles plus the empty cell, where
+     * sliding a group tile costs one and sliding any other tile costs nothing, then keeps
+     * the smallest cost over every empty cell for each placement
+     * @param out Stream to write the table to
+     * @param board Board size
+     * @param group Tiles of the group
+     * @pre Group fits in MAX_SEARCH_STATES
+     * @post cells^tiles bytes written, UNSEEN for placements that can't happen
+     * @throws IOException If the table can't be written
+     */
+    private static void writeTable(OutputStream out, SlideBoard board, int[] group) throws IOException {
+        int row = board.getRow();
+        int column = board.getColumn();
+        int cells = row*column;
+        int[] place = new int[group.length]; //cells^i for each tile of the group
+        for (int i = 0; i<group.length; i++) {
+            place[i] = power(cells, i);
+        }
+        int placements = power(cells, group.length);
+        byte[] cost = new byte[placements*cells]; //placement*cells + empty cell
+        Arrays.fill(cost, (byte) UNSEEN);
+
+        int goal = 0;
+        for (int i = 0; i<group.length; i++) {
+            goal += (group[i]-1) * place[i];
+        }
+        int[] deque = new int[1 << 16]; //free slides go on the front, group slides on the back
+        int head = 0;
+        int size = 1;
+        deque[0] = goal*cells + cells-1;
+        cost[goal*cells + cells-1] = 0;
+        int[] at = new int[group.length];
+        while (size > 0) {
+            int state = deque[head];
+            head = (head+1) & (deque.length-1);
+            size--;
+            int placement = state / cells;
+            int empty = state % cells;
+            int current = cost[state] & 0xFF;
+            for (int i = 0; i<group.length; i++) {
+                at[i] = (placement / place[i]) % cells;
+            }
+            int emptyRow = empty / column;
+            int emptyColumn = empty % column;
+            int[] moves = {
+                    emptyRow-1 >= 0 ? empty-column : -1,
+                    emptyRow+1 < row ? empty+column : -1,
+                    emptyColumn-1 >= 0 ? empty-1 : -1,
+                    emptyColumn+1 < column ? empty+1 : -1
+            };
+            for (int cell : moves) {
+                if (cell < 0) {
+                    continue;
+                }
+                int next = placement;
+                int step = 0;
+                for (int i = 0; i<group.length; i++) {
+                    if (at[i] == cell) { //a group tile slides into the empty cell
+                        next += (empty - cell) * place[i];
+                        step = 1;
+                    }
+                }
+                int neighbour = next*cells + cell;
+                int known = cost[neighbour] & 0xFF;
+                if (known == UNSEEN || current + step < known) {
+                    cost[neighbour] = (byte) (current + step);
+                    if (size == deque.length) { //grows the ring keeping its order
+                        int[] larger = new int[deque.length*2];
+                        for (int k = 0; k<size; k++) {
+                            larger[k] = deque[(head+k) & (deque.length-1)];
+                        }
+                        deque = larger;
+                        head = 0;
+                    }
+                    if (step == 0) {
+                        head = (head-1) & (deque.length-1);
+                        deque[head] = neighbour;
+                    } else {
+                        deque[(head+size) & (deque.length-1)] = neighbour;
+                    }
+                    size++;
+                }
+            }
+        }
+
+        byte[] table = new byte[placements];
+        for (int placement = 0; placement<placements; placement++) {
+            int best = UNSEEN;
+            for (int empty = 0; empty<cells; empty++) {
+                best = Math.min(best, cost[placement*cells + empty] & 0xFF);
+            }
+            table[placement] = (byte) best;
+        }
+        out.write(table);
+    }
+
+    /**
+     * Raises a base to a power
+     * @param base Base
+     * @param exponent Exponent, not negative
+     * @pre Result fits in an int
+     * @post Power determined
+     * @return base^exponent
+     */
+    private static int power(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i<exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -11,10 +11,16 @@
 package puzzles.slide.solver;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.ExternalSolver;
+import puzzles.common.solver.SolutionPrinter;
+import puzzles.common.solver.SolutionStore;
+import puzzles.common.solver.SolveResult;
 import puzzles.common.solver.Solver;
 import puzzles.slide.model.SlideConfig;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -24,34 +30,78 @@ import java.util.List;
  */
 public class Slide {
 
+    /** Option to solve with iterative deepening A* and a pattern database instead of BFS */
+    private final static String PATTERN_DATABASE_OPTION = "-pdb";
+
+    /** Option to solve with BFS kept in files instead of memory */
+    private final static String EXTERNAL_OPTION = "-external";
+
+    /** Share of the maximum heap the external search buffers may take unless a budget is given */
+    private final static int EXTERNAL_HEAP_SHARE = 4;
+
+    /** System property giving the bytes the external search buffers may take */
+    private final static String EXTERNAL_BUDGET_PROPERTY = "slide.external.budget";
+
+    /** System property naming the directory the external search keeps its files in */
+    private final static String EXTERNAL_DIRECTORY_PROPERTY = "slide.external.dir";
+
     /**
      * Main Program for Slide Puzzle
      * @pre SlideConfig and Solver exists to determine puzzle output
      * @post Puzzle output printed to terminal screen
      */
-    public static void main(String[] args) throws FileNotFoundException {
-        if (args.length != 1) {
-            System.out.println("Usage: java Slide filename");
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2
+                || (args.length == 2 && !args[1].equals(PATTERN_DATABASE_OPTION) && !args[1].equals(EXTERNAL_OPTION))) {
+            System.out.println("Usage: java Slide filename [" + PATTERN_DATABASE_OPTION + " | " + EXTERNAL_OPTION + "]");
+        } else {
+            solve(args[0], args.length == 2 ? args[1] : null, System.out);
+        }
+    }
+
+    /**
+     * Solves a puzzle file and prints the puzzle, the counts and the solution
+     * @param filename Puzzle file to solve
+     * @param option Solving option given after the filename, null for none
+     * @param out Stream everything is printed to
+     * @pre Option is null, "-pdb" or "-external", with "-external" the files are kept in
+     *      slide.external.dir and the buffers take slide.external.budget bytes when those
+     *      system properties are set, else the temporary directory and a quarter of the heap
+     * @post Puzzle output printed to the stream
+     * @return Result of the solve
+     */
+    public static SolveResult solve(String filename, String option, PrintStream out) throws IOException {
+        //Initial values
+        SlideConfig initConfig = new SlideConfig(filename);
+
+        //Print filename & the initial configuration
+        out.println("File: " + filename);
+        out.print(initConfig);
+
+        //Solver called on puzzle values, packed into longs when the puzzle is small enough
+        SolutionStore store = SolutionStore.fromProperty();
+        SolveResult result;
+        if (EXTERNAL_OPTION.equals(option)) { //levels kept in files
+            Path directory = Path.of(System.getProperty(EXTERNAL_DIRECTORY_PROPERTY, System.getProperty("java.io.tmpdir")));
+            long budget = Long.getLong(EXTERNAL_BUDGET_PROPERTY, Runtime.getRuntime().maxMemory() / EXTERNAL_HEAP_SHARE);
+            result = new ExternalSolver(directory, budget).solve(initConfig);
+        } else if (PATTERN_DATABASE_OPTION.equals(option) && initConfig.isPackable()) { //informed search, counts are of that search
+            result = PackedSlideSolver.solveIdaStar(initConfig, PatternDatabase.forBoard(initConfig.getBoard()));
+        } else if (initConfig.isPackable() && store != null) { //same path and counts as the BFS it stands for
+            result = store.solve(initConfig, PackedSlideSolver::solve);
+        } else if (initConfig.isPackable()) {
+            result = PackedSlideSolver.solve(initConfig);
+        } else {
+            result = new Solver().solve(initConfig);
+        }
+        List<Configuration> path = result.getPath();
+        out.println("Total configs: " + result.getTotalCount());
+        out.println("Unique configs: " + result.getUniqueCount());
+        if (path.isEmpty()) {
+            out.println("No solution found!");
         } else {
-            //Initial values
-            String filename = args[0];
-            SlideConfig initConfig = new SlideConfig(filename);
-
-            //Print filename & the initial configuration
-            System.out.println("File: " + filename);
-            System.out.print(initConfig);
-
-            //Solver called on puzzle values
-            List<Configuration> path = Solver.solver(initConfig);
-            System.out.println("Total configs: " + Solver.getTotalCount());
-            System.out.println("Unique configs: " + Solver.getUniqueCount());
-            if (path.isEmpty()) {
-                System.out.println("No solution found!");
-            } else {
-                for (int i = 0; i < path.size(); i++) {
-                    System.out.println("Step " + i + ":\n" + path.get(i));
-                }
-            }
+            SolutionPrinter.print(out, path, "\n");
         }
+        return result;
     }
 }
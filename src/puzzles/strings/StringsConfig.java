@@ -1,17 +1,24 @@
 package puzzles.strings;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.EncodableConfiguration;
+import puzzles.common.solver.HeuristicConfiguration;
+import puzzles.common.solver.ReversibleConfiguration;
+import puzzles.common.solver.StorableConfiguration;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Represents a single configuration in the Strings puzzle.
  *
  * @author Patricio Solis
  */
-public class StringsConfig implements Configuration {
+public class StringsConfig implements ReversibleConfiguration, HeuristicConfiguration, EncodableConfiguration,
+        StorableConfiguration {
 
     /** the current string of the configuration */
     private String currString;
@@ -57,6 +64,24 @@ public class StringsConfig implements Configuration {
     }
 
 
+    /**
+     * Gets the current String of the configuration
+     *
+     * @return String the current String
+     */
+    public String getCurrString() {
+        return currString;
+    }
+
+    /**
+     * Gets the goal ending String
+     *
+     * @return String the end String
+     */
+    public String getEndString() {
+        return endString;
+    }
+
     /**
      * Checks if the current configuration is the solution by
      * checking if the current String is equal to the end String
@@ -75,14 +100,107 @@ public class StringsConfig implements Configuration {
      */
     @Override
     public Collection<Configuration> getNeighbors() {
-        ArrayList<Configuration> successors = new ArrayList<>();
+        ArrayList<Configuration> successors = new ArrayList<>(2 * currString.length());
+        forEachNeighbor(successors::add);
+        return successors;
+    }
 
+    /**
+     * Hands all the possible successors of current configuration to a sink
+     * without collecting them
+     *
+     * @param sink takes each successor
+     */
+    @Override
+    public void forEachNeighbor(Consumer<Configuration> sink) {
         // changes current String in both directions for each index of the string
         for(int i = 0; i < currString.length(); i++){
-            successors.add(new StringsConfig(this, i, false));
-            successors.add(new StringsConfig(this, i, true));
+            sink.accept(new StringsConfig(this, i, false));
+            sink.accept(new StringsConfig(this, i, true));
         }
-        return successors;
+    }
+
+    /**
+     * Estimates the moves left by adding up how far each letter is from its
+     * letter in the end String, going whichever way around the alphabet is shorter.
+     * Characters that are not letters are not counted.
+     *
+     * @return int the number of moves left if every letter is moved straight to its end letter
+     */
+    @Override
+    public int heuristic() {
+        int moves = 0;
+        if(currString.length() == endString.length()){
+            for(int i = 0; i < currString.length(); i++){
+                char curr = currString.charAt(i);
+                char end = endString.charAt(i);
+                if(curr >= 'A' && curr <= 'Z' && end >= 'A' && end <= 'Z'){
+                    int distance = Math.abs(curr - end);
+                    moves += Math.min(distance, 26 - distance);
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Makes all the configurations that have the current one as a neighbor.
+     * Every letter can be changed back in the other direction, so these are
+     * the same as the neighbors.
+     *
+     * @return ArrayList<Configuration> that contains all possible predecessors
+     */
+    @Override
+    public Collection<Configuration> getPredecessors() {
+        return getNeighbors();
+    }
+
+    /**
+     * Makes the configuration where the current String is the end String
+     *
+     * @return StringsConfig the solved configuration
+     */
+    @Override
+    public StringsConfig getGoal() {
+        return new StringsConfig(endString, endString);
+    }
+
+    /**
+     * Gets the number of bytes an encoded configuration takes, which is
+     * the same for the whole puzzle since moves never change the length
+     *
+     * @return int two bytes for each character of the current String
+     */
+    @Override
+    public int getEncodedWidth() {
+        return currString.length() * Character.BYTES;
+    }
+
+    /**
+     * Writes the characters of the current String into a buffer
+     *
+     * @param buffer where the configuration is written
+     */
+    @Override
+    public void encode(ByteBuffer buffer) {
+        for(int i = 0; i < currString.length(); i++){
+            buffer.putChar(currString.charAt(i));
+        }
+    }
+
+    /**
+     * Reads a configuration of the same puzzle written by encode()
+     *
+     * @param buffer positioned at the configuration
+     * @return StringsConfig the configuration the bytes stand for, with the same end String
+     */
+    @Override
+    public StringsConfig decode(ByteBuffer buffer) {
+        char[] ch = new char[currString.length()];
+        for(int i = 0; i < ch.length; i++){
+            ch[i] = buffer.getChar();
+        }
+        return new StringsConfig(String.valueOf(ch), endString);
     }
 
     /**
@@ -111,6 +229,18 @@ public class StringsConfig implements Configuration {
         return currString.hashCode();
     }
 
+    /**
+     * Describes the puzzle and the state it is in. The length of the current
+     * string goes first, so where it ends is known even when either string
+     * has spaces in it.
+     *
+     * @return String the length of the current string, the current string and the goal string
+     */
+    @Override
+    public String describe(){
+        return currString.length() + " " + currString + " " + endString;
+    }
+
     /**
      * Prints the current configuration with proper format.
      *
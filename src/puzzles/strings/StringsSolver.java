@@ -0,0 +1,85 @@
+package puzzles.strings;
+
+import puzzles.common.solver.SolutionPath;
+import puzzles.common.solver.SolveResult;
+import puzzles.common.solver.Solver;
+
+/**
+ * Solves the Strings puzzle without searching. Every letter moves around
+ * the alphabet on its own, so a shortest solution moves each letter the
+ * shorter way around to its end letter. The moves are made in the same
+ * order the BFS solver finds them in: letters from first to last, each
+ * one all the way before the next, and up the alphabet when both ways are
+ * 13 moves.
+ *
+ * @author Patricio Solis
+ */
+public class StringsSolver {
+
+    /** the number of letters in the alphabet */
+    private static final int LETTERS = 26;
+
+    /**
+     * Solves the puzzle for the given initial configuration. Strings where
+     * a starting character isn't a capital letter can leave the alphabet,
+     * so those are solved with the BFS solver instead.
+     *
+     * @param start initial configuration of puzzle
+     * @return SolveResult the configurations that lead to the solution in order, empty if there is
+     * none, counting each configuration on the path as made once
+     */
+    public static SolveResult solve(StringsConfig start){
+        long startTime = System.nanoTime();
+        String curr = start.getCurrString();
+        String end = start.getEndString();
+        for(int i = 0; i < curr.length(); i++){
+            if(!isLetter(curr.charAt(i))){
+                return new Solver().solve(start);
+            }
+        }
+        if(curr.length() != end.length()){ // changing letters never changes the length
+            return new SolveResult(SolutionPath.EMPTY, 1, 1, 1, System.nanoTime() - startTime);
+        }
+
+        int[] moves = new int[curr.length()]; // moves for each letter, negative going down the alphabet
+        int total = 0;
+        for(int i = 0; i < curr.length(); i++){
+            if(!isLetter(end.charAt(i))){ // letters only ever become other letters
+                return new SolveResult(SolutionPath.EMPTY, 1, 1, 1, System.nanoTime() - startTime);
+            }
+            int up = Math.floorMod(end.charAt(i) - curr.charAt(i), LETTERS);
+            moves[i] = up <= LETTERS - up ? up : up - LETTERS;
+            total += Math.abs(moves[i]);
+        }
+        SolutionPath path = new SolutionPath(total + 1, step -> stepOf(start, moves, step));
+        return new SolveResult(path, total + 1, total + 1, 1, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Makes the configuration after a number of moves of the solution
+     *
+     * @param start initial configuration of puzzle
+     * @param moves moves for each letter, negative going down the alphabet
+     * @param step the number of moves made
+     * @return StringsConfig the configuration after that many moves
+     */
+    private static StringsConfig stepOf(StringsConfig start, int[] moves, int step){
+        char[] ch = start.getCurrString().toCharArray();
+        for(int i = 0; i < ch.length && step > 0; i++){
+            int made = Math.min(step, Math.abs(moves[i])); // the moves of this letter made by now
+            step -= made;
+            ch[i] = (char) ('A' + Math.floorMod(ch[i] - 'A' + Integer.signum(moves[i]) * made, LETTERS));
+        }
+        return new StringsConfig(String.copyValueOf(ch), start.getEndString());
+    }
+
+    /**
+     * Checks if a character is a capital letter
+     *
+     * @param ch the character to be checked
+     * @return boolean true if it is between A and Z, false otherwise
+     */
+    private static boolean isLetter(char ch){
+        return ch >= 'A' && ch <= 'Z';
+    }
+}
@@ -0,0 +1,61 @@
+package puzzles.hoppers.solver;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Solves every puzzle in data/hoppers and compares what is printed with
+ * test/gold/hoppers, the output of the program before any of the solvers
+ * were changed. A new puzzle file needs its output added there.
+ *
+ * @author Patricio Solis
+ */
+public class HoppersTest {
+
+    /** the directory of the puzzle files, as the program is given it */
+    private static final String DATA = "data/hoppers";
+    /** the directory of the expected output, one .out file for each puzzle file */
+    private static final Path GOLD = Path.of("test", "gold", "hoppers");
+
+    /**
+     * Lists the puzzle files
+     *
+     * @return Stream<String>, the name of every puzzle file in name order
+     * @throws IOException if the data directory can't be read
+     */
+    static Stream<String> puzzles() throws IOException {
+        try(Stream<Path> files = Files.list(Path.of(DATA))){
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".txt")).sorted().toList().stream();
+        }
+    }
+
+    /**
+     * Checks a puzzle prints the same as it always has, line ends aside
+     *
+     * @param puzzle String, the name of the puzzle file to solve
+     * @throws IOException if the puzzle or its expected output can't be read
+     */
+    @ParameterizedTest
+    @MethodSource("puzzles")
+    public void printsGoldOutput(String puzzle) throws IOException {
+        String expected = Files.readString(GOLD.resolve(puzzle.replace(".txt", ".out")));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Hoppers.solve(DATA + "/" + puzzle, out);
+        out.flush();
+
+        assertEquals(expected.replace("\r\n", "\n"), bytes.toString(StandardCharsets.UTF_8).replace("\r\n", "\n"));
+    }
+}
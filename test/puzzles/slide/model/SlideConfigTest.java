@@ -0,0 +1,141 @@
+/**
+ * @Author: Trevor Kamen
+ * @Username: tlk1160
+ * @Class: CSCI.142
+ * @Filename: SlideConfigTest.java
+ * @Assignment: Project02-2
+ * @Language: Java18
+ * @Description: Checks the incremental hash and lazy grids of slide configurations
+ */
+
+package puzzles.slide.model;
+
+import org.junit.jupiter.api.Test;
+import puzzles.common.solver.Configuration;
+
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Walks every slide puzzle at random through the configurations its
+ * neighbors make, which keep only the slide and update the hash from their
+ * parent's, and checks each step against a configuration built whole.
+ *
+ * @author Trevor Kamen
+ */
+public class SlideConfigTest {
+
+    /** Puzzle files walked */
+    private final static String[] PUZZLES = {"data/slide/slide-0.txt", "data/slide/slide-2.txt",
+            "data/slide/slide-5.txt", "data/slide/slide-6.txt", "data/slide/slide-7.txt"};
+
+    /** Number of slides taken on each puzzle */
+    private final static int STEPS = 2000;
+
+    /** Seed of the walks, fixed so a failure can be repeated */
+    private final static long SEED = 142;
+
+    /**
+     * Checks that the hash kept up slide by slide equals the hash of the whole grid
+     * @pre Puzzle files exist
+     * @post Every step's hash and decoded copy checked
+     */
+    @Test
+    public void incrementalHashMatchesFreshHash() throws FileNotFoundException {
+        Random random = new Random(SEED);
+        for (String puzzle : PUZZLES) {
+            SlideConfig start = new SlideConfig(puzzle);
+            SlideConfig current = start;
+            for (int step = 0; step < STEPS; step++) {
+                current = randomNeighbor(current, random);
+                assertEquals(freshHash(current), current.hashCode(), puzzle + " step " + step);
+
+                ByteBuffer buffer = ByteBuffer.allocate(current.getEncodedWidth());
+                current.encode(buffer);
+                buffer.flip();
+                SlideConfig decoded = start.decode(buffer); //hashed from its whole grid
+                assertEquals(decoded, current, puzzle + " step " + step);
+                assertEquals(decoded.hashCode(), current.hashCode(), puzzle + " step " + step);
+            }
+        }
+    }
+
+    /**
+     * Checks that the grid of a slide, made from its parent's when first needed,
+     * equals a copy of the parent with the same move made on it
+     * @pre Puzzle files exist
+     * @post Every step's grid and hash checked
+     */
+    @Test
+    public void slideGridMatchesCopiedGrid() throws FileNotFoundException {
+        Random random = new Random(SEED);
+        for (String puzzle : PUZZLES) {
+            SlideConfig current = new SlideConfig(puzzle);
+            for (int step = 0; step < STEPS; step++) {
+                SlideConfig next = randomNeighbor(current, random);
+                int[] empty = emptyCell(current);
+                int[] tile = emptyCell(next);
+                SlideConfig copy = new SlideConfig(current);
+                copy.makeMove(tile[0], tile[1], empty[0], empty[1]);
+
+                assertEquals(copy.toString(), next.toString(), puzzle + " step " + step);
+                assertEquals(copy, next, puzzle + " step " + step);
+                assertEquals(copy.hashCode(), next.hashCode(), puzzle + " step " + step);
+                current = next;
+            }
+        }
+    }
+
+    /**
+     * Picks one of a configuration's neighbors at random
+     * @param config Configuration to slide from
+     * @param random Source of the choice
+     * @pre Configuration has at least one neighbor
+     * @post Neighbor picked, its grid not made yet
+     * @return Configuration one slide away
+     */
+    private static SlideConfig randomNeighbor(SlideConfig config, Random random) {
+        List<Configuration> neighbors = new ArrayList<>(config.getNeighbors());
+        return (SlideConfig) neighbors.get(random.nextInt(neighbors.size()));
+    }
+
+    /**
+     * Finds the empty cell of a configuration
+     * @param config Configuration to search
+     * @pre Configuration has an empty cell
+     * @post Grid unchanged
+     * @return Row and column of the empty cell
+     */
+    private static int[] emptyCell(SlideConfig config) {
+        for (int r = 0; r < config.getRow(); r++) {
+            for (int c = 0; c < config.getColumn(); c++) {
+                if (config.isSelectionEmpty(r, c)) {
+                    return new int[]{r, c};
+                }
+            }
+        }
+        throw new AssertionError("No empty cell in\n" + config);
+    }
+
+    /**
+     * Hashes the whole grid of a configuration the way hashCode() folds it
+     * @param config Configuration to hash
+     * @pre Configuration exists
+     * @post Grid unchanged
+     * @return Folded xor of the board's key for the value of every cell
+     */
+    private static int freshHash(SlideConfig config) {
+        long hash = 0;
+        for (int r = 0; r < config.getRow(); r++) {
+            for (int c = 0; c < config.getColumn(); c++) {
+                hash ^= config.getBoard().getZobrist(r, c, config.getGrid(r, c));
+            }
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
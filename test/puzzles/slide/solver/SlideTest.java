@@ -0,0 +1,72 @@
+/**
+ * @Author: Trevor Kamen
+ * @Username: tlk1160
+ * @Class: CSCI.142
+ * @Filename: SlideTest.java
+ * @Assignment: Project02-2
+ * @Language: Java18
+ * @Description: Compares the slide program's output with the original program's
+ */
+
+package puzzles.slide.solver;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Solves every puzzle in data/slide and compares what is printed with
+ * test/gold/slide, the output of the program before any of the solvers
+ * were changed. A new puzzle file needs its output added there.
+ *
+ * @author Trevor Kamen
+ */
+public class SlideTest {
+
+    /** Directory of the puzzle files, as the program is given it */
+    private final static String DATA = "data/slide";
+
+    /** Directory of the expected output, one .out file for each puzzle file */
+    private final static Path GOLD = Path.of("test", "gold", "slide");
+
+    /**
+     * Lists the puzzle files
+     * @pre Data directory exists
+     * @post Files listed in name order
+     * @return Name of every puzzle file
+     */
+    static Stream<String> puzzles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(DATA))) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".txt")).sorted().toList().stream();
+        }
+    }
+
+    /**
+     * Checks a puzzle prints the same as it always has
+     * @param puzzle Name of the puzzle file to solve
+     * @pre Expected output exists for the puzzle
+     * @post Output compared, line ends aside
+     */
+    @ParameterizedTest
+    @MethodSource("puzzles")
+    public void printsGoldOutput(String puzzle) throws IOException {
+        String expected = Files.readString(GOLD.resolve(puzzle.replace(".txt", ".out")));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Slide.solve(DATA + "/" + puzzle, null, out);
+        out.flush();
+
+        assertEquals(expected.replace("\r\n", "\n"), bytes.toString(StandardCharsets.UTF_8).replace("\r\n", "\n"));
+    }
+}